@@ -0,0 +1,37 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.dto.BookingDtoComplete;
+import ru.practicum.shareit.booking.services.BookingService;
+import ru.practicum.shareit.user.exceptions.EntityNotFoundException;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookingServiceBenchmark {
+    @Param({"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"})
+    public ru.practicum.shareit.booking.model.State bookingState;
+
+    @Benchmark
+    public Collection<BookingDtoComplete> findAllOwnersBookingsByState(ShareItState state)
+            throws EntityNotFoundException {
+        return state.bean(BookingService.class).findAllOwnersBookingsByState(state.randomUserId(), bookingState,
+                PageRequest.of(0, 20));
+    }
+}
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+import ru.practicum.shareit.item.controllers.ItemController;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemOwnerDto;
+import ru.practicum.shareit.user.controllers.UserController;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.exceptions.EntityNotFoundException;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Controller calls at the application log level, without the HTTP layer. Run with {@code -prof gc} to see the
+ * allocations per call; {@code -p logLevel=DEBUG} shows what the request logging costs when it is switched on.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ControllerBenchmark {
+    @Param({"INFO"})
+    public String logLevel;
+
+    @Setup(Level.Trial)
+    public void setUp(ShareItState state) {
+        state.bean(LoggingSystem.class).setLogLevel("ru.practicum.shareit", LogLevel.valueOf(logLevel));
+    }
+
+    @Benchmark
+    public UserDto findUser(ShareItState state) throws EntityNotFoundException {
+        return state.bean(UserController.class).findById(state.randomUserId());
+    }
+
+    @Benchmark
+    public ItemOwnerDto findItem(ShareItState state) throws EntityNotFoundException {
+        return state.bean(ItemController.class).findById(state.randomItemId(), state.randomUserId());
+    }
+
+    @Benchmark
+    public List<ItemDto> searchItems(ShareItState state) {
+        return state.bean(ItemController.class).findByNameOrDescription("Screwdriver", 0, 20);
+    }
+}
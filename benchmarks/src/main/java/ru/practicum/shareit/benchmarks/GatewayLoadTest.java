@@ -0,0 +1,247 @@
+package ru.practicum.shareit.benchmarks;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compares the gateway execution modes under the same mixed /bookings and /items load. Each mode other than
+ * {@code blocking} is a Spring profile ({@code reactive}, {@code virtual-threads}). By default the ShareIt server is
+ * replaced with a stub answering after a fixed delay; with {@code server.jar} set, a real server on H2 is started in
+ * the same mode and seeded through its API.
+ * <p>
+ * Settings are system properties: {@code gateway.jar}, {@code server.jar}, {@code modes}, {@code requests},
+ * {@code concurrency}, {@code upstream.delay} (ms).
+ */
+public class GatewayLoadTest {
+    private static final int SEED_ITEMS = 20;
+    private static final String STUB_BODY = "[{\"id\":1,\"name\":\"Item\",\"description\":\"Description\"}]";
+
+    public static void main(String[] args) throws Exception {
+        String gatewayJar = System.getProperty("gateway.jar", "gateway/target/gateway-0.0.1-SNAPSHOT.jar");
+        String serverJar = System.getProperty("server.jar");
+        List<String> modes = Arrays.asList(System.getProperty("modes", "blocking,reactive,virtual-threads")
+                .split(","));
+        int requests = Integer.getInteger("requests", 20_000);
+        int concurrency = Integer.getInteger("concurrency", 500);
+        int upstreamDelay = Integer.getInteger("upstream.delay", 100);
+
+        HttpServer stub = serverJar == null ? startUpstream(upstreamDelay) : null;
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newFixedThreadPool(8))
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        try {
+            System.out.printf("java=%s requests=%d concurrency=%d upstream=%s%n", System.getProperty("java.version"),
+                    requests, concurrency, stub != null ? "stub, " + upstreamDelay + "ms delay" : serverJar);
+            for (String mode : modes) {
+                List<Process> processes = new ArrayList<>();
+                try {
+                    int upstreamPort;
+                    if (stub != null) {
+                        upstreamPort = stub.getAddress().getPort();
+                    } else {
+                        upstreamPort = freePort();
+                        List<String> profiles = new ArrayList<>(List.of("test"));
+                        if (mode.equals("virtual-threads")) {
+                            profiles.add(mode);
+                        }
+                        Process server = start("server", mode, serverJar, upstreamPort, profiles, Map.of());
+                        processes.add(server);
+                        awaitHealthy(client, "http://localhost:" + upstreamPort, server);
+                        seed(client, "http://localhost:" + upstreamPort);
+                    }
+                    int port = freePort();
+                    Process gateway = start("gateway", mode, gatewayJar, port,
+                            mode.equals("blocking") ? List.of() : List.of(mode),
+                            Map.of("SHAREIT_SERVER_URL", "http://localhost:" + upstreamPort));
+                    processes.add(gateway);
+                    String baseUrl = "http://localhost:" + port;
+                    awaitHealthy(client, baseUrl, gateway);
+                    run(client, baseUrl, Math.min(requests, 2_000), concurrency);
+                    Result result = run(client, baseUrl, requests, concurrency);
+                    System.out.printf("%-15s throughput=%8.1f req/s  p50=%7.1f ms  p99=%7.1f ms  errors=%d%n", mode,
+                            result.throughput(), result.percentile(50), result.percentile(99), result.errors);
+                } finally {
+                    for (Process process : processes) {
+                        process.destroy();
+                        process.waitFor(30, TimeUnit.SECONDS);
+                    }
+                }
+            }
+        } finally {
+            if (stub != null) {
+                stub.stop(0);
+            }
+            System.exit(0);
+        }
+    }
+
+    private static HttpServer startUpstream(int delay) throws IOException {
+        // the default of 200 idle keep-alive connections would close pooled gateway connections under load
+        System.setProperty("sun.net.httpserver.maxIdleConnections", "10000");
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+        byte[] body = STUB_BODY.getBytes(StandardCharsets.UTF_8);
+        server.createContext("/", exchange -> {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        return server;
+    }
+
+    private static Process start(String name, String mode, String jar, int port, List<String> profiles,
+                                 Map<String, String> environment) throws IOException {
+        List<String> command = new ArrayList<>(List.of(
+                new File(System.getProperty("java.home"), "bin/java").getPath(), "-jar", jar,
+                "--server.port=" + port,
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.web.client.RestTemplate=WARN",
+                "--logging.level.org.springframework.transaction.interceptor=WARN",
+                "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN"));
+        if (!profiles.isEmpty()) {
+            command.add("--spring.profiles.active=" + String.join(",", profiles));
+        }
+        File log = File.createTempFile(name + "-" + mode + "-", ".log");
+        System.out.printf("%-15s starting %s on port %d, log: %s%n", mode, name, port, log);
+        ProcessBuilder builder = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log);
+        builder.environment().putAll(environment);
+        return builder.start();
+    }
+
+    private static void seed(HttpClient client, String serverUrl) throws Exception {
+        post(client, serverUrl + "/users", null, "{\"name\":\"Owner\",\"email\":\"owner@load.test\"}");
+        post(client, serverUrl + "/users", null, "{\"name\":\"Booker\",\"email\":\"booker@load.test\"}");
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        for (int i = 1; i <= SEED_ITEMS; i++) {
+            post(client, serverUrl + "/items", 1L, String.format(
+                    "{\"name\":\"Drill %d\",\"description\":\"Cordless drill %d\",\"available\":true}", i, i));
+            post(client, serverUrl + "/bookings", 2L, String.format("{\"itemId\":%d,\"start\":\"%s\",\"end\":\"%s\"}",
+                    i, start.plusDays(i), start.plusDays(i + 1)));
+        }
+    }
+
+    private static void post(HttpClient client, String url, Long userId, String body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (userId != null) {
+            request.header("X-Sharer-User-Id", userId.toString());
+        }
+        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Seeding " + url + " failed: " + response.body());
+        }
+    }
+
+    private static void awaitHealthy(HttpClient client, String baseUrl, Process gateway) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health")).build();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(120);
+        while (System.nanoTime() < deadline) {
+            if (!gateway.isAlive()) {
+                throw new IllegalStateException("Gateway exited with code " + gateway.exitValue());
+            }
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("Gateway did not become healthy in time");
+    }
+
+    private static Result run(HttpClient client, String baseUrl, int requests, int concurrency) throws Exception {
+        HttpRequest bookings = HttpRequest.newBuilder(URI.create(baseUrl + "/bookings?state=ALL&from=0&size=10"))
+                .header("X-Sharer-User-Id", "2")
+                .build();
+        HttpRequest items = HttpRequest.newBuilder(URI.create(baseUrl + "/items?from=0&size=10"))
+                .header("X-Sharer-User-Id", "1")
+                .build();
+        long[] latencies = new long[requests];
+        AtomicInteger errors = new AtomicInteger();
+        Semaphore inFlight = new Semaphore(concurrency);
+        List<CompletableFuture<?>> futures = new ArrayList<>(requests);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            int index = i;
+            inFlight.acquire();
+            long sent = System.nanoTime();
+            futures.add(client.sendAsync(i % 2 == 0 ? bookings : items, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, e) -> {
+                        latencies[index] = System.nanoTime() - sent;
+                        if (e != null || response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                        inFlight.release();
+                    }));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).exceptionally(e -> null).join();
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        return new Result(latencies, elapsed, errors.get());
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static class Result {
+        private final long[] sortedLatencies;
+        private final long elapsed;
+        private final int errors;
+
+        Result(long[] sortedLatencies, long elapsed, int errors) {
+            this.sortedLatencies = sortedLatencies;
+            this.elapsed = elapsed;
+            this.errors = errors;
+        }
+
+        double throughput() {
+            return sortedLatencies.length / (elapsed / 1e9);
+        }
+
+        double percentile(int percentile) {
+            int index = (int) Math.ceil(percentile / 100.0 * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(index, 0)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.repository.ItemJpaRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserJpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Multi-row inserts through Spring Data {@code saveAll}. Compare {@code -p jdbcBatchSize=0} (one statement per row)
+ * with the configured batch size.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InsertBenchmark {
+    @Param({"100"})
+    public int rowsPerOp;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Benchmark
+    public List<User> insertUsers(ShareItState state) {
+        List<User> users = new ArrayList<>(rowsPerOp);
+        for (int i = 0; i < rowsPerOp; i++) {
+            long n = sequence.incrementAndGet();
+            User user = new User();
+            user.setName("Inserted " + n);
+            user.setEmail("inserted" + n + "@mail.ru");
+            users.add(user);
+        }
+        return state.bean(UserJpaRepository.class).saveAll(users);
+    }
+
+    @Benchmark
+    public List<Booking> insertBookings(ShareItState state) {
+        ItemJpaRepository itemRepository = state.bean(ItemJpaRepository.class);
+        UserJpaRepository userRepository = state.bean(UserJpaRepository.class);
+        LocalDateTime base = LocalDateTime.now().plusYears(1);
+        List<Booking> bookings = new ArrayList<>(rowsPerOp);
+        for (int i = 0; i < rowsPerOp; i++) {
+            LocalDateTime start = base.plusHours(sequence.incrementAndGet());
+            Booking booking = new Booking();
+            booking.setStart(start);
+            booking.setEnd(start.plusMinutes(30));
+            booking.setItem(itemRepository.getReferenceById(state.randomItemId()));
+            booking.setBooker(userRepository.getReferenceById(state.randomUserId()));
+            booking.setStatus(Status.WAITING);
+            bookings.add(booking);
+        }
+        return state.bean(BookingRepository.class).saveAll(bookings);
+    }
+}
@@ -0,0 +1,91 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.services.ItemRequestService;
+import ru.practicum.shareit.user.exceptions.EntityNotFoundException;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemRequestServiceBenchmark {
+
+    @Benchmark
+    public Collection<ItemRequestDto> findTheirItemRequest(ShareItState state) throws EntityNotFoundException {
+        return state.bean(ItemRequestService.class).findTheirItemRequest(state.randomUserId(), PageRequest.of(0, 20));
+    }
+
+    @Benchmark
+    public Collection<ItemRequestDto> findMyItemRequestsOfProlificAuthor(ShareItState state, ProlificAuthor author)
+            throws EntityNotFoundException {
+        return state.bean(ItemRequestService.class).findMyItemRequests(author.authorId,
+                PageRequest.of(0, author.pageSize));
+    }
+
+    /**
+     * A single author with thousands of requests, each answered by several items of other users.
+     */
+    @State(Scope.Benchmark)
+    public static class ProlificAuthor {
+        @Param({"5000"})
+        public int requests;
+        @Param({"3"})
+        public int answersPerRequest;
+        @Param({"20", "1000"})
+        public int pageSize;
+
+        Long authorId;
+
+        @Setup(Level.Trial)
+        public void setUp(ShareItState state) {
+            JdbcTemplate jdbcTemplate = state.bean(JdbcTemplate.class);
+            LocalDateTime now = LocalDateTime.now();
+            jdbcTemplate.update("INSERT INTO users (user_name, email) VALUES (?, ?)", "Prolific author",
+                    "prolific" + System.nanoTime() + "@mail.ru");
+            authorId = jdbcTemplate.queryForObject("SELECT MAX(user_id) FROM users", Long.class);
+
+            List<Object[]> requestRows = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                requestRows.add(new Object[]{"Prolific request " + i, Timestamp.valueOf(now.minusMinutes(i)),
+                        authorId});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO requests (description, creation_date, author_id) VALUES (?, ?, ?)",
+                    requestRows);
+            List<Long> requestIds = jdbcTemplate.queryForList("SELECT request_id FROM requests WHERE author_id = ? " +
+                    "ORDER BY request_id", Long.class, authorId);
+
+            List<Object[]> itemRows = new ArrayList<>();
+            for (Long requestId : requestIds) {
+                for (int j = 0; j < answersPerRequest; j++) {
+                    itemRows.add(new Object[]{"Answer " + requestId + "-" + j, "Answer to request " + requestId, true,
+                            state.randomUserId(), requestId});
+                }
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO items (item_name, description, available, owner_id, request_id) " +
+                    "VALUES (?, ?, ?, ?, ?)", itemRows);
+            jdbcTemplate.execute("ANALYZE");
+        }
+    }
+}
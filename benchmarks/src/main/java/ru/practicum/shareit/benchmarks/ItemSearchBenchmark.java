@@ -0,0 +1,113 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.services.ItemSearchIndex;
+import ru.practicum.shareit.item.services.ItemService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search latency of each engine over a large catalogue. Only users and items are seeded, bookings and comments do not
+ * take part in search. The {@code trigram} engine needs PostgreSQL: run it with {@code -p profile=default} and the
+ * {@code DB_*} environment variables of the server.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ItemSearchBenchmark {
+    private static final String[] TOOLS = {"drill", "hammer", "saw", "sander", "wrench", "ladder", "grinder",
+            "screwdriver", "chisel", "clamp", "trowel", "shovel", "rake", "mower", "pliers", "level", "tape", "vise",
+            "router", "planer"};
+
+    @Benchmark
+    public List<ItemDto> search(SearchState state) {
+        return state.itemService.findByNameOrDescription(state.query, PageRequest.of(0, 20));
+    }
+
+    @State(Scope.Benchmark)
+    public static class SearchState {
+        @Param({"1000000"})
+        public int items;
+        @Param({"database", "index"})
+        public String searchEngine;
+        @Param({"drill", "#123456"})
+        public String query;
+        @Param({"test"})
+        public String profile;
+
+        ConfigurableApplicationContext context;
+        ItemService itemService;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            List<String> args = new ArrayList<>(List.of("--shareit.search.engine=" + searchEngine,
+                    "--shareit.item-summary.refresher.enabled=false",
+                    "--logging.level.root=WARN"));
+            if (profile.equals("test")) {
+                args.add("--spring.datasource.url=jdbc:h2:mem:search;DB_CLOSE_DELAY=-1");
+            }
+            context = new SpringApplicationBuilder(ShareItServer.class)
+                    .web(WebApplicationType.NONE)
+                    .profiles(profile)
+                    .run(args.toArray(new String[0]));
+            seed(context.getBean(JdbcTemplate.class));
+            context.getBeanProvider(ItemSearchIndex.class).ifAvailable(ItemSearchIndex::rebuild);
+            itemService = context.getBean(ItemService.class);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            context.close();
+        }
+
+        private void seed(JdbcTemplate jdbcTemplate) {
+            List<Object[]> userRows = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                userRows.add(new Object[]{"Owner " + i, "owner" + i + "@search.ru"});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO users (user_name, email) VALUES (?, ?)", userRows);
+            List<Long> userIds = jdbcTemplate.queryForList("SELECT user_id FROM users ORDER BY user_id", Long.class);
+
+            List<Object[]> itemRows = new ArrayList<>();
+            for (int i = 0; i < items; i++) {
+                String tool = TOOLS[i % TOOLS.length];
+                itemRows.add(new Object[]{tool + " #" + i, "Used " + TOOLS[(i / TOOLS.length) % TOOLS.length] +
+                        " and " + tool, i % 5 != 0, userIds.get(i % userIds.size())});
+                if (itemRows.size() == 10_000) {
+                    insertItems(jdbcTemplate, itemRows);
+                }
+            }
+            insertItems(jdbcTemplate, itemRows);
+            jdbcTemplate.execute("ANALYZE");
+        }
+
+        private void insertItems(JdbcTemplate jdbcTemplate, List<Object[]> itemRows) {
+            jdbcTemplate.batchUpdate("INSERT INTO items (item_name, description, available, owner_id) " +
+                    "VALUES (?, ?, ?, ?)", itemRows);
+            itemRows.clear();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemOwnerDto;
+import ru.practicum.shareit.item.services.ItemService;
+import ru.practicum.shareit.user.exceptions.EntityNotFoundException;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemServiceBenchmark {
+
+    @Benchmark
+    public List<ItemOwnerDto> findAllMyItems(ShareItState state) throws EntityNotFoundException {
+        return state.bean(ItemService.class).findAllMyItems(state.randomUserId(), PageRequest.of(0, 20));
+    }
+
+    @Benchmark
+    public ItemOwnerDto findById(ShareItState state) throws EntityNotFoundException {
+        return state.bean(ItemService.class).findById(state.randomItemId(), state.randomUserId());
+    }
+
+    @Benchmark
+    public List<ItemDto> search(ShareItState state) {
+        return state.bean(ItemService.class).findByNameOrDescription("screwdriver", PageRequest.of(0, 20));
+    }
+}
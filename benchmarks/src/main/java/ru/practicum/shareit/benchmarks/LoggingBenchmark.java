@@ -0,0 +1,72 @@
+package ru.practicum.shareit.benchmarks;
+
+import ch.qos.logback.classic.Level;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a DEBUG statement while the logger is at INFO, as on the service hot paths. Run with {@code -prof gc} and
+ * compare {@code gc.alloc.rate.norm}: eager {@code String.format} allocates the message on every call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class LoggingBenchmark {
+    private static final Logger log = LoggerFactory.getLogger(LoggingBenchmark.class);
+
+    private Long itemId;
+    private Long bookerId;
+    private int bookings;
+
+    @Setup
+    public void setUp() {
+        ((ch.qos.logback.classic.Logger) log).setLevel(Level.INFO);
+        itemId = ThreadLocalRandom.current().nextLong(1, 10_000);
+        bookerId = ThreadLocalRandom.current().nextLong(1, 10_000);
+        bookings = ThreadLocalRandom.current().nextInt(1, 100);
+    }
+
+    @Benchmark
+    public void formatted() {
+        log.debug(String.format("Item with id = %d saved", itemId));
+    }
+
+    @Benchmark
+    public void parameterized() {
+        log.debug("Item with id = {} saved", itemId);
+    }
+
+    @Benchmark
+    public void formattedThreeArguments() {
+        log.debug(String.format("Booker with id = %d and %d items for %d new Bookings found", bookerId, bookings,
+                bookings));
+    }
+
+    @Benchmark
+    public void parameterizedThreeArguments() {
+        log.debug("Booker with id = {} and {} items for {} new Bookings found", bookerId, bookings, bookings);
+    }
+
+    @Benchmark
+    public void guardedThreeArguments() {
+        if (log.isDebugEnabled()) {
+            log.debug("Booker with id = {} and {} items for {} new Bookings found", bookerId, bookings, bookings);
+        }
+    }
+}
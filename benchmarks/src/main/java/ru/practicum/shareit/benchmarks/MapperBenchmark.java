@@ -0,0 +1,112 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingDtoComplete;
+import ru.practicum.shareit.booking.dto.BookingDtoForItems;
+import ru.practicum.shareit.booking.dto.BookingMapperComplete;
+import ru.practicum.shareit.booking.dto.BookingMapperForItems;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.dto.ItemOwnerDto;
+import ru.practicum.shareit.item.dto.ItemOwnerDtoMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestMapper;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserMapper;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MapperBenchmark {
+    private final ItemMapper itemMapper = Mappers.getMapper(ItemMapper.class);
+    private final ItemOwnerDtoMapper itemOwnerMapper = Mappers.getMapper(ItemOwnerDtoMapper.class);
+    private final BookingMapperComplete bookingMapperComplete = Mappers.getMapper(BookingMapperComplete.class);
+    private final BookingMapperForItems bookingMapperForItems = Mappers.getMapper(BookingMapperForItems.class);
+    private final ItemRequestMapper itemRequestMapper = Mappers.getMapper(ItemRequestMapper.class);
+    private final UserMapper userMapper = Mappers.getMapper(UserMapper.class);
+    private User user;
+    private Item item;
+    private Booking booking;
+    private ItemRequest itemRequest;
+
+    @Setup
+    public void setUp() {
+        user = new User();
+        user.setId(1L);
+        user.setName("User");
+        user.setEmail("user@mail.ru");
+
+        item = new Item();
+        item.setId(1L);
+        item.setName("Drill");
+        item.setDescription("Cordless drill");
+        item.setAvailable(true);
+        item.setOwnerId(2L);
+        item.setRequestId(3L);
+
+        booking = new Booking();
+        booking.setId(1L);
+        booking.setStart(LocalDateTime.now());
+        booking.setEnd(LocalDateTime.now().plusDays(1));
+        booking.setItem(item);
+        booking.setBooker(user);
+        booking.setStatus(Status.APPROVED);
+
+        itemRequest = new ItemRequest();
+        itemRequest.setId(3L);
+        itemRequest.setDescription("Need a drill");
+        itemRequest.setCreated(LocalDateTime.now());
+        itemRequest.setAuthor(user);
+    }
+
+    @Benchmark
+    public ItemDto itemToDto() {
+        return itemMapper.modelToDto(item);
+    }
+
+    @Benchmark
+    public ItemOwnerDto itemToOwnerDto() {
+        return itemOwnerMapper.modelToDto(item);
+    }
+
+    @Benchmark
+    public BookingDtoComplete bookingToCompleteDto() {
+        return bookingMapperComplete.modelToDto(booking);
+    }
+
+    @Benchmark
+    public BookingDtoForItems bookingToDtoForItems() {
+        return bookingMapperForItems.modelToDto(booking);
+    }
+
+    @Benchmark
+    public ItemRequestDto itemRequestToDto() {
+        return itemRequestMapper.modelToDto(itemRequest);
+    }
+
+    @Benchmark
+    public UserDto userToDto() {
+        return userMapper.modelToDto(user);
+    }
+}
@@ -0,0 +1,133 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.item.services.ItemSearchIndex;
+import ru.practicum.shareit.item.services.ItemSummaryService;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+@State(Scope.Benchmark)
+public class ShareItState {
+    @Param({"100"})
+    public int users;
+    @Param({"20"})
+    public int itemsPerUser;
+    @Param({"10"})
+    public int bookingsPerItem;
+    @Param({"2"})
+    public int commentsPerItem;
+    @Param({"5"})
+    public int requestsPerUser;
+    @Param({"database"})
+    public String searchEngine;
+    @Param({"50"})
+    public int jdbcBatchSize;
+
+    ConfigurableApplicationContext context;
+    List<Long> userIds;
+    List<Long> itemIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmarks;DB_CLOSE_DELAY=-1",
+                        "--shareit.search.engine=" + searchEngine,
+                        "--spring.jpa.properties.hibernate.jdbc.batch_size=" + jdbcBatchSize,
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.springframework.transaction.interceptor=WARN",
+                        "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN");
+        seed(context.getBean(JdbcTemplate.class));
+        context.getBeanProvider(ItemSearchIndex.class).ifAvailable(ItemSearchIndex::rebuild);
+        ItemSummaryService itemSummaryService = context.getBean(ItemSummaryService.class);
+        int refreshed;
+        do {
+            refreshed = itemSummaryService.refreshStale(500);
+        } while (refreshed == 500);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    Long randomUserId() {
+        return userIds.get(ThreadLocalRandom.current().nextInt(userIds.size()));
+    }
+
+    Long randomItemId() {
+        return itemIds.get(ThreadLocalRandom.current().nextInt(itemIds.size()));
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Object[]> userRows = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            userRows.add(new Object[]{"User " + i, "user" + i + "@mail.ru"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (user_name, email) VALUES (?, ?)", userRows);
+        userIds = jdbcTemplate.queryForList("SELECT user_id FROM users ORDER BY user_id", Long.class);
+
+        List<Object[]> requestRows = new ArrayList<>();
+        for (int i = 0; i < users * requestsPerUser; i++) {
+            requestRows.add(new Object[]{"Request " + i, Timestamp.valueOf(now.minusHours(i)),
+                    userIds.get(i % users)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO requests (description, creation_date, author_id) VALUES (?, ?, ?)",
+                requestRows);
+        List<Long> requestIds = jdbcTemplate.queryForList("SELECT request_id FROM requests ORDER BY request_id",
+                Long.class);
+
+        List<Object[]> itemRows = new ArrayList<>();
+        for (int i = 0; i < users * itemsPerUser; i++) {
+            Long requestId = i % 3 == 0 && !requestIds.isEmpty() ? requestIds.get(i % requestIds.size()) : null;
+            itemRows.add(new Object[]{"Item " + i + " drill", "Description " + i + " cordless screwdriver",
+                    i % 5 != 0, userIds.get(i % users), requestId});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO items (item_name, description, available, owner_id, request_id) " +
+                "VALUES (?, ?, ?, ?, ?)", itemRows);
+        itemIds = jdbcTemplate.queryForList("SELECT item_id FROM items ORDER BY item_id", Long.class);
+
+        List<Object[]> bookingRows = new ArrayList<>();
+        List<Object[]> commentRows = new ArrayList<>();
+        for (int i = 0; i < itemIds.size(); i++) {
+            Long itemId = itemIds.get(i);
+            for (int j = 0; j < bookingsPerItem; j++) {
+                LocalDateTime start = now.plusDays(3L * (j - bookingsPerItem / 2)).minusDays(1);
+                bookingRows.add(new Object[]{Timestamp.valueOf(start), Timestamp.valueOf(start.plusDays(2)), itemId,
+                        userIds.get((i + j + 1) % users), j % 3});
+            }
+            for (int j = 0; j < commentsPerItem; j++) {
+                commentRows.add(new Object[]{"Comment " + j, itemId, userIds.get((i + j + 1) % users),
+                        Timestamp.valueOf(now.minusDays(j))});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (start_time, end_time, item_id, booker_id, status) " +
+                "VALUES (?, ?, ?, ?, ?)", bookingRows);
+        jdbcTemplate.batchUpdate("INSERT INTO comments (text, item_id, author_id, creation_date) VALUES (?, ?, ?, ?)",
+                commentRows);
+        jdbcTemplate.update("INSERT INTO item_summaries (item_id, valid_until, refreshed_at) " +
+                "SELECT item_id, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP FROM items");
+        jdbcTemplate.execute("ANALYZE");
+    }
+}
@@ -2,17 +2,37 @@ package ru.practicum.shareit;
 
 import org.springframework.http.*;
 import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
-
+import ru.practicum.shareit.cache.GatewayResponseCache;
+import ru.practicum.shareit.tracing.TraceIdFilter;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
 public class BaseClient {
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of("connection", "keep-alive", "proxy-authenticate",
+            "proxy-authorization", "te", "trailer", "transfer-encoding", "upgrade");
+
     protected final RestTemplate rest;
+    @Nullable
+    private final GatewayResponseCache responseCache;
 
     public BaseClient(RestTemplate rest) {
+        this(rest, null);
+    }
+
+    public BaseClient(RestTemplate rest, @Nullable GatewayResponseCache responseCache) {
         this.rest = rest;
+        this.responseCache = responseCache;
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -27,6 +47,11 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
+    protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters,
+                                         @Nullable Map<String, String> extraHeaders) {
+        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null, extraHeaders);
+    }
+
     protected <T> ResponseEntity<Object> post(String path, T body) {
         return post(path, null, null, body);
     }
@@ -60,7 +85,12 @@ public class BaseClient {
     }
 
     protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
-        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
+        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body, null);
+    }
+
+    protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body,
+                                               @Nullable Map<String, String> extraHeaders) {
+        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body, extraHeaders);
     }
 
     protected ResponseEntity<Object> delete(String path) {
@@ -75,23 +105,76 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
+    // copies the upstream body as it arrives, bypassing the response cache which would buffer it whole
+    protected void stream(String path, MediaType mediaType, HttpServletResponse response) throws IOException {
+        try {
+            rest.execute(path, HttpMethod.GET,
+                    request -> request.getHeaders().setAccept(List.of(mediaType)),
+                    upstream -> {
+                        copy(upstream.getRawStatusCode(), upstream.getHeaders(), upstream.getBody(), response);
+                        return null;
+                    });
+        } catch (HttpStatusCodeException e) {
+            copy(e.getRawStatusCode(), e.getResponseHeaders(), new ByteArrayInputStream(e.getResponseBodyAsByteArray()),
+                    response);
+        }
+    }
+
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+        return makeAndSendRequest(method, path, userId, parameters, body, null);
+    }
 
-        ResponseEntity<Object> shareitServerResponse;
+    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId,
+                                                          @Nullable Map<String, Object> parameters, @Nullable T body,
+                                                          @Nullable Map<String, String> extraHeaders) {
+        if (responseCache == null) {
+            return exchange(method, path, userId, parameters, body, extraHeaders);
+        }
+        if (method == HttpMethod.GET) {
+            URI uri = rest.getUriTemplateHandler().expand(path, parameters != null ? parameters : Map.of());
+            return responseCache.get(userId, uri, extraHeaders,
+                    viewerId -> exchange(method, path, viewerId, parameters, body, extraHeaders));
+        }
+        ResponseEntity<Object> response = exchange(method, path, userId, parameters, body, extraHeaders);
+        if (response.getStatusCode().is2xxSuccessful()) {
+            responseCache.invalidateAll();
+        }
+        return response;
+    }
+
+    private <T> ResponseEntity<Object> exchange(HttpMethod method, String path, Long userId,
+                                                @Nullable Map<String, Object> parameters, @Nullable T body,
+                                                @Nullable Map<String, String> extraHeaders) {
+        HttpHeaders headers = defaultHeaders(userId);
+        if (extraHeaders != null) {
+            extraHeaders.forEach(headers::set);
+        }
+        HttpEntity<T> requestEntity = new HttpEntity<>(body, headers);
+
+        ResponseEntity<byte[]> shareitServerResponse;
         try {
             if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class, parameters);
             } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class);
             }
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            return passThrough(e.getStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
+        }
+        return passThrough(shareitServerResponse.getStatusCode(), shareitServerResponse.getHeaders(),
+                shareitServerResponse.getBody());
+    }
+
+    private static void copy(int status, @Nullable HttpHeaders upstreamHeaders, InputStream body,
+                             HttpServletResponse response) throws IOException {
+        response.setStatus(status);
+        if (upstreamHeaders != null && upstreamHeaders.getContentType() != null) {
+            response.setContentType(upstreamHeaders.getContentType().toString());
         }
-        return prepareGatewayResponse(shareitServerResponse);
+        StreamUtils.copy(body, response.getOutputStream());
     }
 
-    private HttpHeaders defaultHeaders(Long userId) {
+    static HttpHeaders defaultHeaders(Long userId) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
         headers.setAccept(List.of(MediaType.APPLICATION_JSON));
@@ -101,15 +184,22 @@ public class BaseClient {
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
+    static ResponseEntity<Object> passThrough(HttpStatus status, @Nullable HttpHeaders upstreamHeaders,
+                                              @Nullable byte[] body) {
+        HttpHeaders headers = new HttpHeaders();
+        if (upstreamHeaders != null) {
+            upstreamHeaders.forEach((name, values) -> {
+                // the gateway answers with its own trace id, which the server only echoes
+                if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT))
+                        && !TraceIdFilter.TRACE_ID_HEADER.equalsIgnoreCase(name)) {
+                    headers.addAll(name, values);
+                }
+            });
         }
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(status).headers(headers);
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
-
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+        if (body != null && body.length > 0) {
+            return responseBuilder.body(body);
         }
 
         return responseBuilder.build();
@@ -0,0 +1,108 @@
+package ru.practicum.shareit;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+public class ReactiveBaseClient {
+    protected final WebClient webClient;
+
+    public ReactiveBaseClient(WebClient webClient) {
+        this.webClient = webClient;
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path) {
+        return get(path, null, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path, long userId) {
+        return get(path, userId, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path, Long userId, @Nullable Map<String, Object> parameters,
+                                               @Nullable Map<String, String> extraHeaders) {
+        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null, extraHeaders);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, T body) {
+        return post(path, null, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, long userId, T body) {
+        return post(path, userId, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, Long userId, @Nullable Map<String, Object> parameters,
+                                                    T body) {
+        return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body, null);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId, T body) {
+        return patch(path, userId, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, Long userId, @Nullable Map<String, Object> parameters,
+                                                     T body) {
+        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body, null);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, Long userId, @Nullable Map<String, Object> parameters,
+                                                     T body, @Nullable Map<String, String> extraHeaders) {
+        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body, extraHeaders);
+    }
+
+    protected Mono<ResponseEntity<Object>> delete(String path) {
+        return delete(path, null, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null, null);
+    }
+
+    protected Mono<ResponseEntity<Flux<DataBuffer>>> stream(String path, MediaType mediaType) {
+        return webClient.get()
+                .uri(path)
+                .accept(mediaType)
+                .retrieve()
+                // error statuses are passed through like any other upstream answer
+                .onStatus(HttpStatus::isError, response -> Mono.empty())
+                .toEntityFlux(DataBuffer.class)
+                .map(response -> {
+                    HttpHeaders headers = new HttpHeaders();
+                    headers.setContentType(response.getHeaders().getContentType());
+                    return ResponseEntity.status(response.getStatusCode()).headers(headers).body(response.getBody());
+                });
+    }
+
+    private <T> Mono<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method, String path, Long userId,
+                                                                @Nullable Map<String, Object> parameters,
+                                                                @Nullable T body,
+                                                                @Nullable Map<String, String> extraHeaders) {
+        HttpHeaders headers = BaseClient.defaultHeaders(userId);
+        if (extraHeaders != null) {
+            extraHeaders.forEach(headers::set);
+        }
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(requestHeaders -> requestHeaders.addAll(headers));
+        WebClient.RequestHeadersSpec<?> exchange = body != null ? request.bodyValue(body) : request;
+        return exchange.exchangeToMono(response -> response.bodyToMono(byte[].class)
+                .map(responseBody -> BaseClient.passThrough(response.statusCode(),
+                        response.headers().asHttpHeaders(), responseBody))
+                .switchIfEmpty(Mono.fromSupplier(() -> BaseClient.passThrough(response.statusCode(),
+                        response.headers().asHttpHeaders(), null))));
+    }
+}
@@ -2,28 +2,39 @@ package ru.practicum.shareit.bookings.client;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.BaseClient;
 import ru.practicum.shareit.bookings.dto.BookingDto;
 import ru.practicum.shareit.bookings.dto.State;
+import ru.practicum.shareit.cache.GatewayResponseCache;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
+@Profile("!reactive")
 public class BookingClient extends BaseClient {
+    public static final String COMPACT_MEDIA_TYPE = "application/vnd.shareit.booking-compact+json";
     private static final String API_PREFIX = "/bookings";
+    private static final Map<String, String> COMPACT_HEADERS = Map.of(HttpHeaders.ACCEPT, COMPACT_MEDIA_TYPE);
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ClientHttpRequestFactory requestFactory, GatewayResponseCache responseCache) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                responseCache
         );
     }
 
@@ -32,12 +43,21 @@ public class BookingClient extends BaseClient {
         return post(path, userId, bookingDto);
     }
 
-    public ResponseEntity<Object> confirmBooking(Long ownerId, Long bookingId, boolean isApproved) {
+    public ResponseEntity<Object> createBookings(Long userId, List<BookingDto> bookingDtos) {
+        String path = "/batch";
+        return post(path, userId, bookingDtos);
+    }
+
+    public ResponseEntity<Object> confirmBooking(Long ownerId, Long bookingId, boolean isApproved,
+                                                 String idempotencyKey) {
         String path = "/" + bookingId + "?approved={approved}";
         Map<String, Object> parameters = Map.of(
                 "approved", isApproved
         );
-        return patch(path, ownerId, parameters, null);
+        if (idempotencyKey == null) {
+            return patch(path, ownerId, parameters, null);
+        }
+        return patch(path, ownerId, parameters, null, Map.of("Idempotency-Key", idempotencyKey));
     }
 
     public ResponseEntity<Object> findById(Long userId, Long bookingId) {
@@ -45,25 +65,43 @@ public class BookingClient extends BaseClient {
         return get(path, userId);
     }
 
+    public ResponseEntity<Object> findAllById(Long userId, List<Long> bookingIds) {
+        String path = "?ids={ids}";
+        Map<String, Object> parameters = Map.of(
+                "ids", bookingIds.stream().map(String::valueOf).collect(Collectors.joining(","))
+        );
+        return get(path, userId, parameters);
+    }
+
     public ResponseEntity<Object> findAllUsersBookingsByState(Long bookerId, State state,
-                                                              Integer startingEntry, Integer size) {
+                                                              Integer startingEntry, Integer size, String after,
+                                                              boolean compact) {
         String path = "?state={state}&from={from}&size={size}";
-        Map<String, Object> parameters = Map.of(
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "state", state.name(),
                 "from", startingEntry,
                 "size", size
-        );
-        return get(path, bookerId, parameters);
+        ));
+        if (after != null) {
+            path += "&after={after}";
+            parameters.put("after", after);
+        }
+        return get(path, bookerId, parameters, compact ? COMPACT_HEADERS : null);
     }
 
     public ResponseEntity<Object> findAllOwnersBookingsByState(Long ownerId, State state,
-                                                               Integer startingEntry, Integer size) {
+                                                               Integer startingEntry, Integer size, String after,
+                                                               boolean compact) {
         String path = "/owner?state={state}&from={from}&size={size}";
-        Map<String, Object> parameters = Map.of(
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "state", state.name(),
                 "from", startingEntry,
                 "size", size
-        );
-        return get(path, ownerId, parameters);
+        ));
+        if (after != null) {
+            path += "&after={after}";
+            parameters.put("after", after);
+        }
+        return get(path, ownerId, parameters, compact ? COMPACT_HEADERS : null);
     }
 }
\ No newline at end of file
@@ -0,0 +1,98 @@
+package ru.practicum.shareit.bookings.client;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.ReactiveBaseClient;
+import ru.practicum.shareit.bookings.dto.BookingDto;
+import ru.practicum.shareit.bookings.dto.State;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+@Profile("reactive")
+public class ReactiveBookingClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/bookings";
+    private static final Map<String, String> COMPACT_HEADERS = Map.of(HttpHeaders.ACCEPT,
+            BookingClient.COMPACT_MEDIA_TYPE);
+
+    @Autowired
+    public ReactiveBookingClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder) {
+        super(builder.baseUrl(serverUrl + API_PREFIX).build());
+    }
+
+    public Mono<ResponseEntity<Object>> createBooking(Long userId, BookingDto bookingDto) {
+        String path = "";
+        return post(path, userId, bookingDto);
+    }
+
+    public Mono<ResponseEntity<Object>> createBookings(Long userId, List<BookingDto> bookingDtos) {
+        String path = "/batch";
+        return post(path, userId, bookingDtos);
+    }
+
+    public Mono<ResponseEntity<Object>> confirmBooking(Long ownerId, Long bookingId, boolean isApproved,
+                                                       String idempotencyKey) {
+        String path = "/" + bookingId + "?approved={approved}";
+        Map<String, Object> parameters = Map.of(
+                "approved", isApproved
+        );
+        if (idempotencyKey == null) {
+            return patch(path, ownerId, parameters, null);
+        }
+        return patch(path, ownerId, parameters, null, Map.of("Idempotency-Key", idempotencyKey));
+    }
+
+    public Mono<ResponseEntity<Object>> findById(Long userId, Long bookingId) {
+        String path = "/" + bookingId;
+        return get(path, userId);
+    }
+
+    public Mono<ResponseEntity<Object>> findAllById(Long userId, List<Long> bookingIds) {
+        String path = "?ids={ids}";
+        Map<String, Object> parameters = Map.of(
+                "ids", bookingIds.stream().map(String::valueOf).collect(Collectors.joining(","))
+        );
+        return get(path, userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> findAllUsersBookingsByState(Long bookerId, State state,
+                                                                    Integer startingEntry, Integer size, String after,
+                                                                    boolean compact) {
+        String path = "?state={state}&from={from}&size={size}";
+        Map<String, Object> parameters = new HashMap<>(Map.of(
+                "state", state.name(),
+                "from", startingEntry,
+                "size", size
+        ));
+        if (after != null) {
+            path += "&after={after}";
+            parameters.put("after", after);
+        }
+        return get(path, bookerId, parameters, compact ? COMPACT_HEADERS : null);
+    }
+
+    public Mono<ResponseEntity<Object>> findAllOwnersBookingsByState(Long ownerId, State state,
+                                                                     Integer startingEntry, Integer size, String after,
+                                                                     boolean compact) {
+        String path = "/owner?state={state}&from={from}&size={size}";
+        Map<String, Object> parameters = new HashMap<>(Map.of(
+                "state", state.name(),
+                "from", startingEntry,
+                "size", size
+        ));
+        if (after != null) {
+            path += "&after={after}";
+            parameters.put("after", after);
+        }
+        return get(path, ownerId, parameters, compact ? COMPACT_HEADERS : null);
+    }
+}
\ No newline at end of file
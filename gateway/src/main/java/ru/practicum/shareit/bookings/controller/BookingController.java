@@ -2,6 +2,10 @@ package ru.practicum.shareit.bookings.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -12,11 +16,15 @@ import ru.practicum.shareit.bookings.exceptions.IncorrectBookingStartEndDate;
 import ru.practicum.shareit.bookings.exceptions.UnknownState;
 
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
 @Slf4j
@@ -24,40 +32,67 @@ import java.time.LocalDateTime;
 public class BookingController {
     private final BookingClient bookingClient;
     private final String xSharerUserId = "X-Sharer-User-Id";
+    private final String idempotencyKeyHeader = "Idempotency-Key";
+    static final int MAX_BATCH_SIZE = 100;
 
     @PostMapping
     public ResponseEntity<Object> createBooking(@RequestHeader(xSharerUserId) Long userId,
                                                 @RequestBody @Valid BookingDto bookingDto)
             throws IncorrectBookingStartEndDate {
         checkStartEndDates(bookingDto);
-        log.info("POST request for /bookings received");
+        log.debug("POST request for /bookings received");
         return bookingClient.createBooking(userId, bookingDto);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<Object> createBookings(@RequestHeader(xSharerUserId) Long userId,
+                                                 @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE)
+                                                 List<@Valid BookingDto> bookingDtos)
+            throws IncorrectBookingStartEndDate {
+        for (BookingDto bookingDto : bookingDtos) {
+            checkStartEndDates(bookingDto);
+        }
+        log.debug("POST request for /bookings/batch with {} bookings received", bookingDtos.size());
+        return bookingClient.createBookings(userId, bookingDtos);
+    }
+
     @PatchMapping("/{bookingId}")
     public ResponseEntity<Object> confirmBooking(@RequestHeader(xSharerUserId) Long ownerId, @PathVariable Long bookingId,
-                                                 @RequestParam(value = "approved") boolean isApproved) {
-        log.info(String.format("PATCH request for /bookings/%d/approved=%s received", bookingId, isApproved));
-        return bookingClient.confirmBooking(ownerId, bookingId, isApproved);
+                                                 @RequestParam(value = "approved") boolean isApproved,
+                                                 @RequestHeader(value = idempotencyKeyHeader, required = false)
+                                                 String idempotencyKey) {
+        log.debug("PATCH request for /bookings/{}/approved={} received", bookingId, isApproved);
+        return bookingClient.confirmBooking(ownerId, bookingId, isApproved, idempotencyKey);
     }
 
     @GetMapping("/{bookingId}")
     public ResponseEntity<Object> findById(@RequestHeader(xSharerUserId) Long userId, @PathVariable Long bookingId) {
-        log.info(String.format("GET request for /bookings/%d received", bookingId));
+        log.debug("GET request for /bookings/{} received", bookingId);
         return bookingClient.findById(userId, bookingId);
     }
 
+    @GetMapping(params = "ids")
+    public ResponseEntity<Object> findAllById(@RequestHeader(xSharerUserId) Long userId,
+                                              @RequestParam(value = "ids") @NotEmpty @Size(max = MAX_BATCH_SIZE)
+                                              List<@Positive Long> bookingIds) {
+        log.debug("GET request for /bookings?ids={} received", bookingIds);
+        return bookingClient.findAllById(userId, bookingIds);
+    }
+
     @GetMapping()
     public ResponseEntity<Object> findAllUsersBookingsByState(@RequestHeader(xSharerUserId) Long bookerId,
                                                               @RequestParam(value = "state", defaultValue = "ALL") String stateString,
                                                               @PositiveOrZero @RequestParam(value = "from", defaultValue = "0", required = false)
                                                               Integer startingEntry,
                                                               @Positive @RequestParam(value = "size", defaultValue = "10", required = false)
-                                                              Integer size)
+                                                              Integer size,
+                                                              @RequestParam(value = "after", required = false) String after,
+                                                              @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept)
             throws UnknownState {
         State state = checkAndSetStatus(stateString);
-        log.info(String.format("GET request for /bookings?state=%s", state));
-        return bookingClient.findAllUsersBookingsByState(bookerId, state, startingEntry, size);
+        log.debug("GET request for /bookings?state={}", state);
+        return bookingClient.findAllUsersBookingsByState(bookerId, state, startingEntry, size, after,
+                acceptsCompactView(accept));
     }
 
     @GetMapping("/owner")
@@ -66,14 +101,17 @@ public class BookingController {
                                                                @PositiveOrZero @RequestParam(value = "from", defaultValue = "0", required = false)
                                                                Integer startingEntry,
                                                                @Positive @RequestParam(value = "size", defaultValue = "10", required = false)
-                                                               Integer size)
+                                                               Integer size,
+                                                               @RequestParam(value = "after", required = false) String after,
+                                                               @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept)
             throws UnknownState {
         State state = checkAndSetStatus(stateString);
-        log.info(String.format("GET request for /bookings/owner?state=%s", state));
-        return bookingClient.findAllOwnersBookingsByState(ownerId, state, startingEntry, size);
+        log.debug("GET request for /bookings/owner?state={}", state);
+        return bookingClient.findAllOwnersBookingsByState(ownerId, state, startingEntry, size, after,
+                acceptsCompactView(accept));
     }
 
-    private void checkStartEndDates(BookingDto bookingDto) throws IncorrectBookingStartEndDate {
+    static void checkStartEndDates(BookingDto bookingDto) throws IncorrectBookingStartEndDate {
         LocalDateTime start = bookingDto.getStart();
         LocalDateTime end = bookingDto.getEnd();
         LocalDateTime now = LocalDateTime.now();
@@ -82,7 +120,19 @@ public class BookingController {
         }
     }
 
-    private State checkAndSetStatus(String stateString) throws UnknownState {
+    static boolean acceptsCompactView(String accept) {
+        if (accept == null) {
+            return false;
+        }
+        try {
+            MediaType compact = MediaType.parseMediaType(BookingClient.COMPACT_MEDIA_TYPE);
+            return MediaType.parseMediaTypes(accept).stream().anyMatch(compact::equalsTypeAndSubtype);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    static State checkAndSetStatus(String stateString) throws UnknownState {
         try {
             return State.valueOf(stateString);
         } catch (Exception e) {
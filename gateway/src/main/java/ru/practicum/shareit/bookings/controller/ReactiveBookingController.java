@@ -0,0 +1,110 @@
+package ru.practicum.shareit.bookings.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.bookings.client.ReactiveBookingClient;
+import ru.practicum.shareit.bookings.dto.BookingDto;
+import ru.practicum.shareit.bookings.dto.State;
+import ru.practicum.shareit.bookings.exceptions.IncorrectBookingStartEndDate;
+import ru.practicum.shareit.bookings.exceptions.UnknownState;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@RestController
+@Profile("reactive")
+@RequestMapping(path = "/bookings")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public class ReactiveBookingController {
+    private final ReactiveBookingClient bookingClient;
+    private final String xSharerUserId = "X-Sharer-User-Id";
+    private final String idempotencyKeyHeader = "Idempotency-Key";
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> createBooking(@RequestHeader(xSharerUserId) Long userId,
+                                                      @RequestBody @Valid BookingDto bookingDto)
+            throws IncorrectBookingStartEndDate {
+        BookingController.checkStartEndDates(bookingDto);
+        log.debug("POST request for /bookings received");
+        return bookingClient.createBooking(userId, bookingDto);
+    }
+
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Object>> createBookings(@RequestHeader(xSharerUserId) Long userId,
+                                                       @RequestBody @NotEmpty @Size(max = BookingController.MAX_BATCH_SIZE)
+                                                       List<@Valid BookingDto> bookingDtos)
+            throws IncorrectBookingStartEndDate {
+        for (BookingDto bookingDto : bookingDtos) {
+            BookingController.checkStartEndDates(bookingDto);
+        }
+        log.debug("POST request for /bookings/batch with {} bookings received", bookingDtos.size());
+        return bookingClient.createBookings(userId, bookingDtos);
+    }
+
+    @PatchMapping("/{bookingId}")
+    public Mono<ResponseEntity<Object>> confirmBooking(@RequestHeader(xSharerUserId) Long ownerId, @PathVariable Long bookingId,
+                                                       @RequestParam(value = "approved") boolean isApproved,
+                                                       @RequestHeader(value = idempotencyKeyHeader, required = false)
+                                                       String idempotencyKey) {
+        log.debug("PATCH request for /bookings/{}/approved={} received", bookingId, isApproved);
+        return bookingClient.confirmBooking(ownerId, bookingId, isApproved, idempotencyKey);
+    }
+
+    @GetMapping("/{bookingId}")
+    public Mono<ResponseEntity<Object>> findById(@RequestHeader(xSharerUserId) Long userId, @PathVariable Long bookingId) {
+        log.debug("GET request for /bookings/{} received", bookingId);
+        return bookingClient.findById(userId, bookingId);
+    }
+
+    @GetMapping(params = "ids")
+    public Mono<ResponseEntity<Object>> findAllById(@RequestHeader(xSharerUserId) Long userId,
+                                                    @RequestParam(value = "ids") @NotEmpty @Size(max = BookingController.MAX_BATCH_SIZE)
+                                                    List<@Positive Long> bookingIds) {
+        log.debug("GET request for /bookings?ids={} received", bookingIds);
+        return bookingClient.findAllById(userId, bookingIds);
+    }
+
+    @GetMapping()
+    public Mono<ResponseEntity<Object>> findAllUsersBookingsByState(@RequestHeader(xSharerUserId) Long bookerId,
+                                                                    @RequestParam(value = "state", defaultValue = "ALL") String stateString,
+                                                                    @PositiveOrZero @RequestParam(value = "from", defaultValue = "0", required = false)
+                                                                    Integer startingEntry,
+                                                                    @Positive @RequestParam(value = "size", defaultValue = "10", required = false)
+                                                                    Integer size,
+                                                                    @RequestParam(value = "after", required = false) String after,
+                                                                    @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept)
+            throws UnknownState {
+        State state = BookingController.checkAndSetStatus(stateString);
+        log.debug("GET request for /bookings?state={}", state);
+        return bookingClient.findAllUsersBookingsByState(bookerId, state, startingEntry, size, after,
+                BookingController.acceptsCompactView(accept));
+    }
+
+    @GetMapping("/owner")
+    public Mono<ResponseEntity<Object>> findAllOwnersBookingsByState(@RequestHeader(xSharerUserId) Long ownerId,
+                                                                     @RequestParam(value = "state", defaultValue = "ALL") String stateString,
+                                                                     @PositiveOrZero @RequestParam(value = "from", defaultValue = "0", required = false)
+                                                                     Integer startingEntry,
+                                                                     @Positive @RequestParam(value = "size", defaultValue = "10", required = false)
+                                                                     Integer size,
+                                                                     @RequestParam(value = "after", required = false) String after,
+                                                                     @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept)
+            throws UnknownState {
+        State state = BookingController.checkAndSetStatus(stateString);
+        log.debug("GET request for /bookings/owner?state={}", state);
+        return bookingClient.findAllOwnersBookingsByState(ownerId, state, startingEntry, size, after,
+                BookingController.acceptsCompactView(accept));
+    }
+}
\ No newline at end of file
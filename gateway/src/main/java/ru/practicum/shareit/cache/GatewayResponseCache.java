@@ -0,0 +1,199 @@
+package ru.practicum.shareit.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.util.DigestUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+public class GatewayResponseCache {
+    public static final String ITEM_OWNER_HEADER = "X-Item-Owner-Id";
+    private static final Pattern ITEM_PATH = Pattern.compile(".*/items/\\d+/?");
+    private static final Pattern ITEM_VIEW_PATH = Pattern.compile(".*/items(/\\d+)?/?");
+    private static final Pattern TIME_DEPENDENT_STATE = Pattern.compile("(^|&)state=(CURRENT|PAST|FUTURE)(&|$)",
+            Pattern.CASE_INSENSITIVE);
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final boolean enabled;
+    private final Duration ttl;
+    // bumped by every write, a response loaded under an older generation may predate the write
+    private final AtomicLong generation = new AtomicLong();
+    private final Cache<String, CachedResponse> responses;
+    private final RequestCoalescer coalescer;
+
+    public GatewayResponseCache(ResponseCacheProperties properties, RequestCoalescer coalescer) {
+        this.enabled = properties.isEnabled();
+        this.ttl = properties.getTtl();
+        this.coalescer = coalescer;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfter(new Expiry<String, CachedResponse>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedResponse value, long currentTime) {
+                        return value.ttlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedResponse value, long currentTime,
+                                                  long currentDuration) {
+                        return value.ttlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedResponse value, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    public ResponseEntity<Object> get(@Nullable Long userId, URI uri,
+                                      Function<Long, ResponseEntity<Object>> loader) {
+        return get(userId, uri, null, loader);
+    }
+
+    // the loader is called with the user the upstream request is sent for, which is not always the caller
+    public ResponseEntity<Object> get(@Nullable Long userId, URI uri, @Nullable Map<String, String> requestHeaders,
+                                      Function<Long, ResponseEntity<Object>> loader) {
+        if (userId != null && uri.getPath() != null && ITEM_PATH.matcher(uri.getPath()).matches()) {
+            // only the owner sees the bookings, every other user gets the same view and shares one load of it
+            ResponseEntity<Object> publicView = load(null, uri, requestHeaders, loader);
+            if (!String.valueOf(userId).equals(publicView.getHeaders().getFirst(ITEM_OWNER_HEADER))) {
+                return withoutOwner(publicView);
+            }
+        }
+        return withoutOwner(load(userId, uri, requestHeaders, loader));
+    }
+
+    // request headers such as Accept select a different representation of the same uri
+    private ResponseEntity<Object> load(@Nullable Long userId, URI uri, @Nullable Map<String, String> requestHeaders,
+                                        Function<Long, ResponseEntity<Object>> loader) {
+        String key = "GET " + uri + " " + (userId != null ? userId : "-")
+                + (requestHeaders != null && !requestHeaders.isEmpty() ? " " + new TreeMap<>(requestHeaders) : "");
+        long loadGeneration = generation.get();
+        // requests arriving after a write must not share a flight that started before it
+        String flightKey = key + " @" + loadGeneration;
+        if (!enabled || isTimeDependent(uri)) {
+            return coalescer.execute(flightKey, () -> loader.apply(userId));
+        }
+        CachedResponse cached = responses.getIfPresent(key);
+        if (cached != null) {
+            return cached.response;
+        }
+        return coalescer.execute(flightKey, () -> {
+            ResponseEntity<Object> response = loader.apply(userId);
+            if (response.getStatusCode() == HttpStatus.OK && response.getBody() instanceof byte[]) {
+                ResponseEntity<Object> loaded = withETag(response);
+                Duration entryTtl = ttl(uri, (byte[]) loaded.getBody());
+                if (entryTtl.compareTo(Duration.ZERO) > 0) {
+                    CachedResponse entry = new CachedResponse(loaded, entryTtl.toNanos());
+                    // a write finished while loading: the response may be stale, keep whatever a newer load cached.
+                    // invalidateAll waits for this entry, so a write bumping the generation after the check removes it
+                    responses.asMap().compute(key, (k, current) ->
+                            generation.get() == loadGeneration ? entry : current);
+                }
+                response = loaded;
+            }
+            return response;
+        });
+    }
+
+    // item views embed bookings and comments, bookings embed items and users, requests embed items,
+    // so a successful write may change any cached view
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        responses.invalidateAll();
+    }
+
+    // these booking states are relative to now, so the lists may change without any write
+    static boolean isTimeDependent(URI uri) {
+        String path = uri.getPath();
+        return path != null && path.contains("/bookings") && uri.getRawQuery() != null
+                && TIME_DEPENDENT_STATE.matcher(uri.getRawQuery()).find();
+    }
+
+    // item views carry the last and next booking, which only change without a write when the next booking starts
+    Duration ttl(URI uri, byte[] body) {
+        if (uri.getPath() == null || !ITEM_VIEW_PATH.matcher(uri.getPath()).matches()) {
+            return ttl;
+        }
+        LocalDateTime nextStart;
+        try {
+            nextStart = earliestNextBookingStart(body);
+        } catch (IOException | DateTimeParseException e) {
+            return Duration.ZERO;
+        }
+        if (nextStart == null) {
+            return ttl;
+        }
+        Duration untilNextStart = Duration.between(LocalDateTime.now(), nextStart);
+        return untilNextStart.compareTo(ttl) < 0 ? untilNextStart : ttl;
+    }
+
+    Cache<String, CachedResponse> responses() {
+        return responses;
+    }
+
+    @Nullable
+    private static LocalDateTime earliestNextBookingStart(byte[] body) throws IOException {
+        LocalDateTime earliest = null;
+        for (JsonNode nextBooking : JSON.readTree(body).findValues("nextBooking")) {
+            JsonNode start = nextBooking.get("start");
+            if (start != null && start.isTextual()) {
+                LocalDateTime candidate = LocalDateTime.parse(start.asText());
+                if (earliest == null || candidate.isBefore(earliest)) {
+                    earliest = candidate;
+                }
+            }
+        }
+        return earliest;
+    }
+
+    private static ResponseEntity<Object> withETag(ResponseEntity<Object> response) {
+        if (response.getHeaders().getETag() != null) {
+            return response;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.addAll(response.getHeaders());
+        headers.setETag("\"" + DigestUtils.md5DigestAsHex((byte[]) response.getBody()) + "\"");
+        return new ResponseEntity<>(response.getBody(), headers, response.getStatusCode());
+    }
+
+    private static ResponseEntity<Object> withoutOwner(ResponseEntity<Object> response) {
+        if (!response.getHeaders().containsKey(ITEM_OWNER_HEADER)) {
+            return response;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.addAll(response.getHeaders());
+        headers.remove(ITEM_OWNER_HEADER);
+        return new ResponseEntity<>(response.getBody(), headers, response.getStatusCode());
+    }
+
+    static final class CachedResponse {
+        private final ResponseEntity<Object> response;
+        private final long ttlNanos;
+
+        private CachedResponse(ResponseEntity<Object> response, long ttlNanos) {
+            this.response = response;
+            this.ttlNanos = ttlNanos;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+public class RequestCoalescer {
+    private final ConcurrentMap<String, CompletableFuture<ResponseEntity<Object>>> inFlight =
+            new ConcurrentHashMap<>();
+    private final Counter savedCalls;
+
+    public RequestCoalescer(MeterRegistry meterRegistry) {
+        this.savedCalls = Counter.builder("gateway.coalesced.requests")
+                .description("Upstream calls saved by sharing one in-flight response between identical GET requests")
+                .register(meterRegistry);
+    }
+
+    public ResponseEntity<Object> execute(String key, Supplier<ResponseEntity<Object>> call) {
+        CompletableFuture<ResponseEntity<Object>> flight = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<Object>> leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null) {
+            savedCalls.increment();
+            try {
+                return leader.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
+        try {
+            ResponseEntity<Object> response = call.get();
+            flight.complete(response);
+            return response;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+@Configuration
+@Profile("!reactive")
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class ResponseCacheConfig {
+
+    @Bean
+    public RequestCoalescer requestCoalescer(MeterRegistry meterRegistry) {
+        return new RequestCoalescer(meterRegistry);
+    }
+
+    @Bean
+    public GatewayResponseCache gatewayResponseCache(ResponseCacheProperties properties, RequestCoalescer coalescer,
+                                                     MeterRegistry meterRegistry) {
+        GatewayResponseCache responseCache = new GatewayResponseCache(properties, coalescer);
+        CaffeineCacheMetrics.monitor(meterRegistry, responseCache.responses(), "gatewayResponses");
+        return responseCache;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> shallowEtagHeaderFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration =
+                new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registration.addUrlPatterns("/items/*", "/requests/*", "/users/*", "/bookings/*");
+        return registration;
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.http;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.tracing.TraceIdFilter;
+
+@RequiredArgsConstructor
+public class ReactiveUpstreamFilter implements ExchangeFilterFunction {
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.deferContextual(context -> {
+            ClientRequest traced = context.<String>getOrEmpty(TraceIdFilter.TRACE_ID_KEY)
+                    .map(traceId -> ClientRequest.from(request).header(TraceIdFilter.TRACE_ID_HEADER, traceId).build())
+                    .orElse(request);
+            long start = System.nanoTime();
+            return next.exchange(traced)
+                    .doOnNext(response -> UpstreamInterceptor.record(meterRegistry, request.method().name(),
+                            request.url(), String.valueOf(response.rawStatusCode()), System.nanoTime() - start))
+                    .doOnError(e -> UpstreamInterceptor.record(meterRegistry, request.method().name(),
+                            request.url(), "IO_ERROR", System.nanoTime() - start));
+        });
+    }
+}
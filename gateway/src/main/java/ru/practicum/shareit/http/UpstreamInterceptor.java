@@ -0,0 +1,59 @@
+package ru.practicum.shareit.http;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.MDC;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import ru.practicum.shareit.tracing.TraceIdFilter;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+@RequiredArgsConstructor
+public class UpstreamInterceptor implements ClientHttpRequestInterceptor {
+    public static final String METRIC_NAME = "shareit.upstream.requests";
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        String traceId = MDC.get(TraceIdFilter.TRACE_ID_KEY);
+        if (traceId != null) {
+            request.getHeaders().set(TraceIdFilter.TRACE_ID_HEADER, traceId);
+        }
+        long start = System.nanoTime();
+        String status = "IO_ERROR";
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            status = String.valueOf(response.getRawStatusCode());
+            return response;
+        } finally {
+            record(meterRegistry, request.getMethodValue(), request.getURI(), status, System.nanoTime() - start);
+        }
+    }
+
+    static void record(MeterRegistry meterRegistry, String method, URI uri, String status, long nanos) {
+        Timer.builder(METRIC_NAME)
+                .tag("method", method)
+                .tag("resource", resource(uri))
+                .tag("status", status)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    // the first path segment keeps the tag bounded, full paths carry ids
+    private static String resource(URI uri) {
+        String path = uri.getPath();
+        if (path == null || path.length() <= 1) {
+            return "root";
+        }
+        int end = path.indexOf('/', 1);
+        return end < 0 ? path.substring(1) : path.substring(1, end);
+    }
+}
@@ -2,28 +2,34 @@ package ru.practicum.shareit.items.client;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.BaseClient;
+import ru.practicum.shareit.cache.GatewayResponseCache;
 import ru.practicum.shareit.items.dto.CommentDto;
 import ru.practicum.shareit.items.dto.ItemDto;
 
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
+@Profile("!reactive")
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ClientHttpRequestFactory requestFactory, GatewayResponseCache responseCache) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                responseCache
         );
     }
 
@@ -42,12 +48,16 @@ public class ItemClient extends BaseClient {
         return patch(path, ownerId, itemDto);
     }
 
-    public ResponseEntity<Object> getAllUsersItems(Long ownerId, Integer startingEntry, Integer size) {
+    public ResponseEntity<Object> getAllUsersItems(Long ownerId, Integer startingEntry, Integer size, String after) {
         String path = "?from={from}&size={size}";
-        Map<String, Object> parameters = Map.of(
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "from", startingEntry,
                 "size", size
-        );
+        ));
+        if (after != null) {
+            path += "&after={after}";
+            parameters.put("after", after);
+        }
         return get(path, ownerId, parameters);
     }
 
@@ -61,6 +71,15 @@ public class ItemClient extends BaseClient {
         return get(path, null, parameters);
     }
 
+    public ResponseEntity<Object> findComments(Long itemId, Integer startingEntry, Integer size) {
+        String path = "/" + itemId + "/comments?from={from}&size={size}";
+        Map<String, Object> parameters = Map.of(
+                "from", startingEntry,
+                "size", size
+        );
+        return get(path, null, parameters);
+    }
+
     public ResponseEntity<Object> saveComment(Long bookerId, Long itemId, CommentDto commentDto) {
         String path = "/" + itemId + "/comment";
         return post(path, bookerId, commentDto);
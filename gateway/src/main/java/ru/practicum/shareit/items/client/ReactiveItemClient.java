@@ -0,0 +1,78 @@
+package ru.practicum.shareit.items.client;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.ReactiveBaseClient;
+import ru.practicum.shareit.items.dto.CommentDto;
+import ru.practicum.shareit.items.dto.ItemDto;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Service
+@Profile("reactive")
+public class ReactiveItemClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/items";
+
+    @Autowired
+    public ReactiveItemClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder) {
+        super(builder.baseUrl(serverUrl + API_PREFIX).build());
+    }
+
+    public Mono<ResponseEntity<Object>> createItem(Long userId, ItemDto itemDto) {
+        String path = "";
+        return post(path, userId, itemDto);
+    }
+
+    public Mono<ResponseEntity<Object>> findById(Long itemId, Long userId) {
+        String path = "/" + itemId;
+        return get(path, userId);
+    }
+
+    public Mono<ResponseEntity<Object>> updateItem(Long ownerId, Long itemId, ItemDto itemDto) {
+        String path = "/" + itemId;
+        return patch(path, ownerId, itemDto);
+    }
+
+    public Mono<ResponseEntity<Object>> getAllUsersItems(Long ownerId, Integer startingEntry, Integer size, String after) {
+        String path = "?from={from}&size={size}";
+        Map<String, Object> parameters = new HashMap<>(Map.of(
+                "from", startingEntry,
+                "size", size
+        ));
+        if (after != null) {
+            path += "&after={after}";
+            parameters.put("after", after);
+        }
+        return get(path, ownerId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> findByNameOrDescription(String text, Integer startingEntry, Integer size) {
+        String path = "/search/?text={text}&from={from}&size={size}";
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "from", startingEntry,
+                "size", size
+        );
+        return get(path, null, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> findComments(Long itemId, Integer startingEntry, Integer size) {
+        String path = "/" + itemId + "/comments?from={from}&size={size}";
+        Map<String, Object> parameters = Map.of(
+                "from", startingEntry,
+                "size", size
+        );
+        return get(path, null, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> saveComment(Long bookerId, Long itemId, CommentDto commentDto) {
+        String path = "/" + itemId + "/comment";
+        return post(path, bookerId, commentDto);
+    }
+}
\ No newline at end of file
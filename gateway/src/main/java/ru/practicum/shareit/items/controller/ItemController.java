@@ -2,6 +2,7 @@ package ru.practicum.shareit.items.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -14,6 +15,7 @@ import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
 
 @RestController
+@Profile("!reactive")
 @RequiredArgsConstructor
 @Slf4j
 @RequestMapping("/items")
@@ -24,20 +26,20 @@ public class ItemController {
 
     @PostMapping
     public ResponseEntity<Object> createItem(@RequestHeader(xSharerUserId) Long userId, @RequestBody @Valid ItemDto itemDto) {
-        log.info("POST request for /items received");
+        log.debug("POST request for /items received");
         return itemClient.createItem(userId, itemDto);
     }
 
     @GetMapping("/{itemId}")
     public ResponseEntity<Object> findById(@PathVariable Long itemId, @RequestHeader(xSharerUserId) Long userId) {
-        log.info(String.format("GET request for /items/%d received", itemId));
+        log.debug("GET request for /items/{} received", itemId);
         return itemClient.findById(itemId, userId);
     }
 
     @PatchMapping("/{itemId}")
     public ResponseEntity<Object> updateItem(@RequestHeader(xSharerUserId) Long ownerId, @PathVariable Long itemId,
                                              @RequestBody ItemDto itemDto) {
-        log.info(String.format("PATCH request for /items/%d received from user id = %d", itemId, ownerId));
+        log.debug("PATCH request for /items/{} received from user id = {}", itemId, ownerId);
         return itemClient.updateItem(ownerId, itemId, itemDto);
     }
 
@@ -46,9 +48,10 @@ public class ItemController {
                                                    @PositiveOrZero @RequestParam(value = "from", defaultValue = "0", required = false)
                                                    Integer startingEntry,
                                                    @Positive @RequestParam(value = "size", defaultValue = "10", required = false)
-                                                   Integer size) {
-        log.info(String.format("GET request for /items received from user id = %d", ownerId));
-        return itemClient.getAllUsersItems(ownerId, startingEntry, size);
+                                                   Integer size,
+                                                   @RequestParam(value = "after", required = false) String after) {
+        log.debug("GET request for /items received from user id = {}", ownerId);
+        return itemClient.getAllUsersItems(ownerId, startingEntry, size, after);
     }
 
     @GetMapping("/search")
@@ -57,14 +60,24 @@ public class ItemController {
                                                           Integer startingEntry,
                                                           @Positive @RequestParam(value = "size", defaultValue = "10", required = false)
                                                           Integer size) {
-        log.info(String.format("GET request for /items received, text for search = %s", text));
+        log.debug("GET request for /items received, text for search = {}", text);
         return itemClient.findByNameOrDescription(text.toLowerCase(), startingEntry, size);
     }
 
+    @GetMapping("/{itemId}/comments")
+    public ResponseEntity<Object> findComments(@PathVariable Long itemId,
+                                               @PositiveOrZero @RequestParam(value = "from", defaultValue = "0", required = false)
+                                               Integer startingEntry,
+                                               @Positive @RequestParam(value = "size", defaultValue = "10", required = false)
+                                               Integer size) {
+        log.debug("GET request for /items/{}/comments received", itemId);
+        return itemClient.findComments(itemId, startingEntry, size);
+    }
+
     @PostMapping("/{itemId}/comment")
     public ResponseEntity<Object> saveComment(@RequestHeader(xSharerUserId) Long bookerId, @PathVariable Long itemId,
                                               @Valid @RequestBody CommentDto commentDto) {
-        log.info(String.format("POST request for /items/%d/comment received", itemId));
+        log.debug("POST request for /items/{}/comment received", itemId);
         return itemClient.saveComment(bookerId, itemId, commentDto);
     }
 }
\ No newline at end of file
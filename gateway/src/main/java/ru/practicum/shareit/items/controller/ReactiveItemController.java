@@ -0,0 +1,84 @@
+package ru.practicum.shareit.items.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.items.client.ReactiveItemClient;
+import ru.practicum.shareit.items.dto.CommentDto;
+import ru.practicum.shareit.items.dto.ItemDto;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+
+@RestController
+@Profile("reactive")
+@RequiredArgsConstructor
+@Slf4j
+@RequestMapping("/items")
+@Validated
+public class ReactiveItemController {
+    private final ReactiveItemClient itemClient;
+    private final String xSharerUserId = "X-Sharer-User-Id";
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> createItem(@RequestHeader(xSharerUserId) Long userId, @RequestBody @Valid ItemDto itemDto) {
+        log.debug("POST request for /items received");
+        return itemClient.createItem(userId, itemDto);
+    }
+
+    @GetMapping("/{itemId}")
+    public Mono<ResponseEntity<Object>> findById(@PathVariable Long itemId, @RequestHeader(xSharerUserId) Long userId) {
+        log.debug("GET request for /items/{} received", itemId);
+        return itemClient.findById(itemId, userId);
+    }
+
+    @PatchMapping("/{itemId}")
+    public Mono<ResponseEntity<Object>> updateItem(@RequestHeader(xSharerUserId) Long ownerId, @PathVariable Long itemId,
+                                                   @RequestBody ItemDto itemDto) {
+        log.debug("PATCH request for /items/{} received from user id = {}", itemId, ownerId);
+        return itemClient.updateItem(ownerId, itemId, itemDto);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> getAllUsersItems(@RequestHeader(xSharerUserId) Long ownerId,
+                                                         @PositiveOrZero @RequestParam(value = "from", defaultValue = "0", required = false)
+                                                         Integer startingEntry,
+                                                         @Positive @RequestParam(value = "size", defaultValue = "10", required = false)
+                                                         Integer size,
+                                                         @RequestParam(value = "after", required = false) String after) {
+        log.debug("GET request for /items received from user id = {}", ownerId);
+        return itemClient.getAllUsersItems(ownerId, startingEntry, size, after);
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<Object>> findByNameOrDescription(@RequestParam(value = "text") String text,
+                                                                @PositiveOrZero @RequestParam(value = "from", defaultValue = "0", required = false)
+                                                                Integer startingEntry,
+                                                                @Positive @RequestParam(value = "size", defaultValue = "10", required = false)
+                                                                Integer size) {
+        log.debug("GET request for /items received, text for search = {}", text);
+        return itemClient.findByNameOrDescription(text.toLowerCase(), startingEntry, size);
+    }
+
+    @GetMapping("/{itemId}/comments")
+    public Mono<ResponseEntity<Object>> findComments(@PathVariable Long itemId,
+                                                     @PositiveOrZero @RequestParam(value = "from", defaultValue = "0", required = false)
+                                                     Integer startingEntry,
+                                                     @Positive @RequestParam(value = "size", defaultValue = "10", required = false)
+                                                     Integer size) {
+        log.debug("GET request for /items/{}/comments received", itemId);
+        return itemClient.findComments(itemId, startingEntry, size);
+    }
+
+    @PostMapping("/{itemId}/comment")
+    public Mono<ResponseEntity<Object>> saveComment(@RequestHeader(xSharerUserId) Long bookerId, @PathVariable Long itemId,
+                                                    @Valid @RequestBody CommentDto commentDto) {
+        log.debug("POST request for /items/{}/comment received", itemId);
+        return itemClient.saveComment(bookerId, itemId, commentDto);
+    }
+}
\ No newline at end of file
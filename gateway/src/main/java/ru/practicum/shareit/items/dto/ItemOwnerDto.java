@@ -22,4 +22,5 @@ public class ItemOwnerDto {
     private BookingDtoForItems lastBooking;
     private BookingDtoForItems nextBooking;
     private Collection<CommentDto> comments;
+    private Integer commentCount;
 }
\ No newline at end of file
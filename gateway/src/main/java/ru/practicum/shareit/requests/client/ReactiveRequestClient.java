@@ -0,0 +1,56 @@
+package ru.practicum.shareit.requests.client;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.ReactiveBaseClient;
+import ru.practicum.shareit.requests.dto.ItemRequestDto;
+
+import java.util.Map;
+
+@Service
+@Profile("reactive")
+public class ReactiveRequestClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/requests";
+
+    @Autowired
+    public ReactiveRequestClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder) {
+        super(builder.baseUrl(serverUrl + API_PREFIX).build());
+    }
+
+    public Mono<ResponseEntity<Object>> createItemRequest(Long authorId, ItemRequestDto itemRequestDto) {
+        String path = "";
+        return post(path, authorId, itemRequestDto);
+    }
+
+    public Mono<ResponseEntity<Object>> findById(Long requestId, Long askerId) {
+        String path = "/" + requestId;
+        return get(path, askerId);
+    }
+
+    public Mono<ResponseEntity<Object>> findMyItemRequests(Long authorId, Integer startingEntry, Integer size) {
+        // without a size the server returns every request of the author
+        if (size == null) {
+            return get("", authorId);
+        }
+        String path = "?from={from}&size={size}";
+        Map<String, Object> parameters = Map.of(
+                "from", startingEntry,
+                "size", size
+        );
+        return get(path, authorId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> findTheirItemRequest(Long authorId, Integer startingEntry, Integer size) {
+        String path = "/all?from={from}&size={size}";
+        Map<String, Object> parameters = Map.of(
+                "from", startingEntry,
+                "size", size
+        );
+        return get(path, authorId, parameters);
+    }
+}
\ No newline at end of file
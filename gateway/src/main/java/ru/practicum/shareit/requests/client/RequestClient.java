@@ -2,27 +2,32 @@ package ru.practicum.shareit.requests.client;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.BaseClient;
+import ru.practicum.shareit.cache.GatewayResponseCache;
 import ru.practicum.shareit.requests.dto.ItemRequestDto;
 
 import java.util.Map;
 
 @Service
+@Profile("!reactive")
 public class RequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public RequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public RequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ClientHttpRequestFactory requestFactory, GatewayResponseCache responseCache) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                responseCache
         );
     }
 
@@ -36,9 +41,17 @@ public class RequestClient extends BaseClient {
         return get(path, askerId);
     }
 
-    public ResponseEntity<Object> findMyItemRequests(Long authorId) {
-        String path = "";
-        return get(path, authorId);
+    public ResponseEntity<Object> findMyItemRequests(Long authorId, Integer startingEntry, Integer size) {
+        // without a size the server returns every request of the author
+        if (size == null) {
+            return get("", authorId);
+        }
+        String path = "?from={from}&size={size}";
+        Map<String, Object> parameters = Map.of(
+                "from", startingEntry,
+                "size", size
+        );
+        return get(path, authorId, parameters);
     }
 
     public ResponseEntity<Object> findTheirItemRequest(Long authorId, Integer startingEntry, Integer size) {
@@ -2,6 +2,7 @@ package ru.practicum.shareit.requests.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -13,6 +14,7 @@ import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
 
 @RestController
+@Profile("!reactive")
 @RequiredArgsConstructor
 @Slf4j
 @RequestMapping("/requests")
@@ -24,20 +26,23 @@ public class ItemRequestController {
     @PostMapping
     public ResponseEntity<Object> createItemRequest(@RequestHeader(xSharerUserId) Long authorId,
                                                     @RequestBody @Valid ItemRequestDto itemRequestDto) {
-        log.info("POST request for /requests received");
+        log.debug("POST request for /requests received");
         return requestClient.createItemRequest(authorId, itemRequestDto);
     }
 
     @GetMapping("/{requestId}")
     public ResponseEntity<Object> findById(@RequestHeader(xSharerUserId) Long askerId, @PathVariable Long requestId) {
-        log.info(String.format("GET request for /requests/%d received", requestId));
+        log.debug("GET request for /requests/{} received", requestId);
         return requestClient.findById(requestId, askerId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> findMyItemRequests(@RequestHeader(xSharerUserId) Long authorId) {
-        log.info("GET request for /requests from author received");
-        return requestClient.findMyItemRequests(authorId);
+    public ResponseEntity<Object> findMyItemRequests(@RequestHeader(xSharerUserId) Long authorId,
+                                                     @PositiveOrZero @RequestParam(value = "from", defaultValue = "0", required = false)
+                                                     Integer startingEntry,
+                                                     @Positive @RequestParam(value = "size", required = false) Integer size) {
+        log.debug("GET request for /requests from author received");
+        return requestClient.findMyItemRequests(authorId, startingEntry, size);
     }
 
     @GetMapping("/all")
@@ -46,7 +51,7 @@ public class ItemRequestController {
                                                        Integer startingEntry,
                                                        @Positive @RequestParam(value = "size", defaultValue = "10", required = false)
                                                        Integer size) {
-        log.info("GET request for /requests/all received");
+        log.debug("GET request for /requests/all received");
         return requestClient.findTheirItemRequest(authorId, startingEntry, size);
     }
 }
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.requests.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.requests.client.ReactiveRequestClient;
+import ru.practicum.shareit.requests.dto.ItemRequestDto;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+
+@RestController
+@Profile("reactive")
+@RequiredArgsConstructor
+@Slf4j
+@RequestMapping("/requests")
+@Validated
+public class ReactiveItemRequestController {
+    private final ReactiveRequestClient requestClient;
+    private final String xSharerUserId = "X-Sharer-User-Id";
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> createItemRequest(@RequestHeader(xSharerUserId) Long authorId,
+                                                          @RequestBody @Valid ItemRequestDto itemRequestDto) {
+        log.debug("POST request for /requests received");
+        return requestClient.createItemRequest(authorId, itemRequestDto);
+    }
+
+    @GetMapping("/{requestId}")
+    public Mono<ResponseEntity<Object>> findById(@RequestHeader(xSharerUserId) Long askerId, @PathVariable Long requestId) {
+        log.debug("GET request for /requests/{} received", requestId);
+        return requestClient.findById(requestId, askerId);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> findMyItemRequests(@RequestHeader(xSharerUserId) Long authorId,
+                                                           @PositiveOrZero @RequestParam(value = "from", defaultValue = "0", required = false)
+                                                           Integer startingEntry,
+                                                           @Positive @RequestParam(value = "size", required = false) Integer size) {
+        log.debug("GET request for /requests from author received");
+        return requestClient.findMyItemRequests(authorId, startingEntry, size);
+    }
+
+    @GetMapping("/all")
+    public Mono<ResponseEntity<Object>> findTheirItemRequest(@RequestHeader(xSharerUserId) Long authorId,
+                                                             @PositiveOrZero @RequestParam(value = "from", defaultValue = "0", required = false)
+                                                             Integer startingEntry,
+                                                             @Positive @RequestParam(value = "size", defaultValue = "10", required = false)
+                                                             Integer size) {
+        log.debug("GET request for /requests/all received");
+        return requestClient.findTheirItemRequest(authorId, startingEntry, size);
+    }
+}
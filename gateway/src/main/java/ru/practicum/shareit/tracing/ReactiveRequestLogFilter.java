@@ -0,0 +1,39 @@
+package ru.practicum.shareit.tracing;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@RequiredArgsConstructor
+public class ReactiveRequestLogFilter implements WebFilter {
+    private final double sampleRate;
+    private final Duration slowThreshold;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        long start = System.nanoTime();
+        return chain.filter(exchange).doFinally(signal -> {
+            long elapsed = System.nanoTime() - start;
+            ServerHttpRequest request = exchange.getRequest();
+            ServerHttpResponse response = exchange.getResponse();
+            Integer status = response.getRawStatusCode();
+            int code = status != null ? status : 200;
+            if (log.isInfoEnabled()
+                    && RequestLogFilter.shouldLog(code, elapsed, sampleRate, slowThreshold)) {
+                // there is no MDC on the event loop, so the trace id goes into the message
+                log.info("method={} path={} status={} duration_ms={} trace_id={}", request.getMethodValue(),
+                        request.getPath().value(), code, TimeUnit.NANOSECONDS.toMillis(elapsed),
+                        response.getHeaders().getFirst(TraceIdFilter.TRACE_ID_HEADER));
+            }
+        });
+    }
+}
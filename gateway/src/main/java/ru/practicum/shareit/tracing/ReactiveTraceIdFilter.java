@@ -0,0 +1,18 @@
+package ru.practicum.shareit.tracing;
+
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+public class ReactiveTraceIdFilter implements WebFilter {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String traceId = TraceIdFilter.traceIdOf(
+                exchange.getRequest().getHeaders().getFirst(TraceIdFilter.TRACE_ID_HEADER));
+        exchange.getResponse().getHeaders().set(TraceIdFilter.TRACE_ID_HEADER, traceId);
+        return chain.filter(exchange).contextWrite(Context.of(TraceIdFilter.TRACE_ID_KEY, traceId));
+    }
+}
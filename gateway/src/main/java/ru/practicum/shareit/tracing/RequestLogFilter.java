@@ -0,0 +1,42 @@
+package ru.practicum.shareit.tracing;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@RequiredArgsConstructor
+public class RequestLogFilter extends OncePerRequestFilter {
+    private final double sampleRate;
+    private final Duration slowThreshold;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            if (log.isInfoEnabled() && shouldLog(response.getStatus(), elapsed, sampleRate, slowThreshold)) {
+                log.info("method={} path={} status={} duration_ms={}", request.getMethod(), request.getRequestURI(),
+                        response.getStatus(), TimeUnit.NANOSECONDS.toMillis(elapsed));
+            }
+        }
+    }
+
+    // failed and slow requests are always logged, the rest is sampled
+    static boolean shouldLog(int status, long elapsed, double sampleRate, Duration slowThreshold) {
+        return status >= 500 || elapsed >= slowThreshold.toNanos()
+                || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+}
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.tracing;
+
+import org.slf4j.MDC;
+import org.springframework.lang.Nullable;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+public class TraceIdFilter extends OncePerRequestFilter {
+    public static final String TRACE_ID_HEADER = "X-Trace-Id";
+    public static final String TRACE_ID_KEY = "traceId";
+    private static final Pattern VALID_TRACE_ID = Pattern.compile("[A-Za-z0-9-]{1,64}");
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String traceId = traceIdOf(request.getHeader(TRACE_ID_HEADER));
+        MDC.put(TRACE_ID_KEY, traceId);
+        response.setHeader(TRACE_ID_HEADER, traceId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(TRACE_ID_KEY);
+        }
+    }
+
+    // anything but a short token is replaced rather than written to the logs and forwarded as is
+    static String traceIdOf(@Nullable String header) {
+        if (header != null && VALID_TRACE_ID.matcher(header).matches()) {
+            return header;
+        }
+        return UUID.randomUUID().toString().replace("-", "");
+    }
+}
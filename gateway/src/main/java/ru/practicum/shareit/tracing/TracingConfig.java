@@ -0,0 +1,50 @@
+package ru.practicum.shareit.tracing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import java.time.Duration;
+
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    @Profile("!reactive")
+    public FilterRegistrationBean<TraceIdFilter> traceIdFilter() {
+        FilterRegistrationBean<TraceIdFilter> registration = new FilterRegistrationBean<>(new TraceIdFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    @Profile("reactive")
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public ReactiveTraceIdFilter reactiveTraceIdFilter() {
+        return new ReactiveTraceIdFilter();
+    }
+
+    @Bean
+    @Profile("!reactive")
+    public FilterRegistrationBean<RequestLogFilter> requestLogFilter(
+            @Value("${shareit.request-log.sample-rate:0.1}") double sampleRate,
+            @Value("${shareit.request-log.slow-threshold:1s}") Duration slowThreshold) {
+        FilterRegistrationBean<RequestLogFilter> registration =
+                new FilterRegistrationBean<>(new RequestLogFilter(sampleRate, slowThreshold));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    @Bean
+    @Profile("reactive")
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public ReactiveRequestLogFilter reactiveRequestLogFilter(
+            @Value("${shareit.request-log.sample-rate:0.1}") double sampleRate,
+            @Value("${shareit.request-log.slow-threshold:1s}") Duration slowThreshold) {
+        return new ReactiveRequestLogFilter(sampleRate, slowThreshold);
+    }
+}
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.users.client;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.ReactiveBaseClient;
+import ru.practicum.shareit.users.dto.UserDto;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Service
+@Profile("reactive")
+public class ReactiveUserClient extends ReactiveBaseClient {
+
+    private static final String API_PREFIX = "/users";
+
+    @Autowired
+    public ReactiveUserClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder) {
+        super(builder.baseUrl(serverUrl + API_PREFIX).build());
+    }
+
+    public Mono<ResponseEntity<Object>> createUser(UserDto requestDto) {
+        String path = "";
+        return post(path, requestDto);
+    }
+
+    public Mono<ResponseEntity<Object>> findById(Long id) {
+        String path = "/" + id;
+        return get(path, id);
+    }
+
+    public Mono<ResponseEntity<Object>> update(UserDto requestDto, Long id) {
+        String path = "/" + id;
+        return patch(path, id, requestDto);
+    }
+
+    public Mono<ResponseEntity<Object>> deleteById(Long id) {
+        String path = "/" + id;
+        return delete(path);
+    }
+
+    public Mono<ResponseEntity<Object>> findAll(Integer size, String after) {
+        String path = "";
+        Map<String, Object> parameters = new HashMap<>();
+        if (size != null) {
+            path += "?size={size}";
+            parameters.put("size", size);
+        }
+        if (after != null) {
+            path += (path.isEmpty() ? "?" : "&") + "after={after}";
+            parameters.put("after", after);
+        }
+        return get(path, null, parameters);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> export() {
+        String path = "/export";
+        return stream(path, MediaType.APPLICATION_NDJSON);
+    }
+}
\ No newline at end of file
@@ -2,26 +2,37 @@ package ru.practicum.shareit.users.client;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.BaseClient;
+import ru.practicum.shareit.cache.GatewayResponseCache;
 import ru.practicum.shareit.users.dto.UserDto;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
 @Service
+@Profile("!reactive")
 public class UserClient extends BaseClient {
 
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ClientHttpRequestFactory requestFactory, GatewayResponseCache responseCache) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                responseCache
         );
     }
 
@@ -45,8 +56,22 @@ public class UserClient extends BaseClient {
         return delete(path);
     }
 
-    public ResponseEntity<Object> findAll() {
+    public ResponseEntity<Object> findAll(Integer size, String after) {
         String path = "";
-        return get(path);
+        Map<String, Object> parameters = new HashMap<>();
+        if (size != null) {
+            path += "?size={size}";
+            parameters.put("size", size);
+        }
+        if (after != null) {
+            path += (path.isEmpty() ? "?" : "&") + "after={after}";
+            parameters.put("after", after);
+        }
+        return get(path, null, parameters);
+    }
+
+    public void export(HttpServletResponse response) throws IOException {
+        String path = "/export";
+        stream(path, MediaType.APPLICATION_NDJSON, response);
     }
 }
\ No newline at end of file
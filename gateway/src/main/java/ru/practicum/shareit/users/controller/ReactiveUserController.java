@@ -0,0 +1,66 @@
+package ru.practicum.shareit.users.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.users.client.ReactiveUserClient;
+import ru.practicum.shareit.users.dto.UserDto;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Positive;
+
+@Controller
+@Profile("reactive")
+@RequestMapping(path = "/users")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public class ReactiveUserController {
+    private final ReactiveUserClient userClient;
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> save(@RequestBody @Valid UserDto userDto) {
+        log.debug("POST request for /users received");
+        return userClient.createUser(userDto);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Object>> findById(@PathVariable Long id) {
+        log.debug("GET request for /users/{} received", id);
+        return userClient.findById(id);
+    }
+
+    @PatchMapping("/{id}")
+    public Mono<ResponseEntity<Object>> update(@PathVariable Long id, @RequestBody UserDto userDto) {
+        log.debug("PATCH request for /users/{} received", id);
+        return userClient.update(userDto, id);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Object>> delete(@PathVariable Long id) {
+        log.debug("DELETE request for /users/{} received", id);
+        return userClient.deleteById(id);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> findAll(@Positive @RequestParam(value = "size", required = false)
+                                                Integer size,
+                                                @RequestParam(value = "after", required = false) String after) {
+        log.debug("GET request for /users received");
+        return userClient.findAll(size, after);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<ResponseEntity<Flux<DataBuffer>>> export() {
+        log.debug("GET request for /users/export received");
+        return userClient.export();
+    }
+}
\ No newline at end of file
@@ -2,16 +2,24 @@ package ru.practicum.shareit.users.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
 import ru.practicum.shareit.users.client.UserClient;
 import ru.practicum.shareit.users.dto.UserDto;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import javax.validation.constraints.Positive;
+import java.io.IOException;
 
 @Controller
+@Profile("!reactive")
 @RequestMapping(path = "/users")
 @RequiredArgsConstructor
 @Slf4j
@@ -21,31 +29,40 @@ public class UserController {
 
     @PostMapping
     public ResponseEntity<Object> save(@RequestBody @Valid UserDto userDto) {
-        log.info("POST request for /users received");
+        log.debug("POST request for /users received");
         return userClient.createUser(userDto);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<Object> findById(@PathVariable Long id) {
-        log.info(String.format("GET request for /users/%d received", id));
+        log.debug("GET request for /users/{} received", id);
         return userClient.findById(id);
     }
 
     @PatchMapping("/{id}")
     public ResponseEntity<Object> update(@PathVariable Long id, @RequestBody UserDto userDto) {
-        log.info(String.format("PATCH request for /users/%d received", id));
+        log.debug("PATCH request for /users/{} received", id);
         return userClient.update(userDto, id);
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Object> delete(@PathVariable Long id) {
-        log.info(String.format("DELETE request for /users/%d received", id));
+        log.debug("DELETE request for /users/{} received", id);
         return userClient.deleteById(id);
     }
 
     @GetMapping
-    public ResponseEntity<Object> findAll() {
-        log.info("GET request for /users received");
-        return userClient.findAll();
+    public ResponseEntity<Object> findAll(@Positive @RequestParam(value = "size", required = false)
+                                          Integer size,
+                                          @RequestParam(value = "after", required = false) String after) {
+        log.debug("GET request for /users received");
+        return userClient.findAll(size, after);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void export(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        log.debug("GET request for /users/export received");
+        ShallowEtagHeaderFilter.disableContentCaching(request);
+        userClient.export(response);
     }
 }
\ No newline at end of file
@@ -0,0 +1,164 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.test.web.client.MockRestServiceServer;
+import ru.practicum.shareit.cache.GatewayResponseCache;
+import ru.practicum.shareit.cache.RequestCoalescer;
+import ru.practicum.shareit.cache.ResponseCacheProperties;
+import ru.practicum.shareit.items.client.ItemClient;
+import ru.practicum.shareit.items.dto.ItemDto;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.headerDoesNotExist;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class BaseClientTest {
+    private static final String ITEM = "http://server/items/1";
+    private static final String ITEM_SEARCH = "http://server/items/search/?text=drill&from=0&size=10";
+
+    ItemClient itemClient;
+    MockRestServiceServer server;
+
+    @BeforeEach
+    void setUp() {
+        GatewayResponseCache responseCache = new GatewayResponseCache(new ResponseCacheProperties(),
+                new RequestCoalescer(new SimpleMeterRegistry()));
+        itemClient = new ItemClient("http://server", new RestTemplateBuilder(), new SimpleClientHttpRequestFactory(),
+                responseCache);
+        server = MockRestServiceServer.bindTo(itemClient.rest).build();
+    }
+
+    @Test
+    void responseBodyShouldPassThroughAsBytes() {
+        String json = "{\"id\":1,\"name\":\"Дрель\"}";
+        server.expect(requestTo(ITEM))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess(json, MediaType.APPLICATION_JSON));
+
+        ResponseEntity<Object> response = itemClient.findById(1L, 2L);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertArrayEquals(json.getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+        server.verify();
+    }
+
+    @Test
+    void itemViewShouldBeLoadedForTheOwnerOnly() {
+        HttpHeaders ownedByTwo = new HttpHeaders();
+        ownedByTwo.set(GatewayResponseCache.ITEM_OWNER_HEADER, "2");
+        server.expect(requestTo(ITEM))
+                .andExpect(headerDoesNotExist("X-Sharer-User-Id"))
+                .andRespond(withSuccess("{\"id\":1,\"nextBooking\":null}", MediaType.APPLICATION_JSON)
+                        .headers(ownedByTwo));
+        server.expect(requestTo(ITEM))
+                .andExpect(header("X-Sharer-User-Id", "2"))
+                .andRespond(withSuccess("{\"id\":1,\"lastBooking\":{\"id\":3},\"nextBooking\":null}",
+                        MediaType.APPLICATION_JSON).headers(ownedByTwo));
+
+        assertEquals("{\"id\":1,\"nextBooking\":null}", body(itemClient.findById(1L, 3L)));
+        ResponseEntity<Object> ownerView = itemClient.findById(1L, 2L);
+
+        assertEquals("{\"id\":1,\"lastBooking\":{\"id\":3},\"nextBooking\":null}", body(ownerView));
+        assertFalse(ownerView.getHeaders().containsKey(GatewayResponseCache.ITEM_OWNER_HEADER));
+        server.verify();
+    }
+
+    @Test
+    void hopByHopAndTraceHeadersShouldNotBePassedThrough() {
+        HttpHeaders upstreamHeaders = new HttpHeaders();
+        upstreamHeaders.set(HttpHeaders.CONNECTION, "keep-alive");
+        upstreamHeaders.set("Keep-Alive", "timeout=60");
+        upstreamHeaders.set(HttpHeaders.TRANSFER_ENCODING, "chunked");
+        upstreamHeaders.set("X-Trace-Id", "server-trace");
+        upstreamHeaders.set("X-Next-Cursor", "Mg");
+        server.expect(requestTo(ITEM))
+                .andRespond(withSuccess("{}", MediaType.APPLICATION_JSON).headers(upstreamHeaders));
+
+        HttpHeaders headers = itemClient.findById(1L, 2L).getHeaders();
+
+        assertFalse(headers.containsKey(HttpHeaders.CONNECTION));
+        assertFalse(headers.containsKey("Keep-Alive"));
+        assertFalse(headers.containsKey(HttpHeaders.TRANSFER_ENCODING));
+        assertFalse(headers.containsKey("X-Trace-Id"));
+        assertEquals("Mg", headers.getFirst("X-Next-Cursor"));
+        assertEquals(MediaType.APPLICATION_JSON, headers.getContentType());
+    }
+
+    @Test
+    void errorStatusShouldPassThroughUnchanged() {
+        String error = "{\"error\":\"Item with id = 1 does not exist in database\"}";
+        server.expect(requestTo(ITEM))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND).contentType(MediaType.APPLICATION_JSON).body(error));
+        server.expect(requestTo("http://server/items"))
+                .andRespond(withStatus(HttpStatus.INTERNAL_SERVER_ERROR).body(""));
+
+        ResponseEntity<Object> notFound = itemClient.findById(1L, 2L);
+        ResponseEntity<Object> serverError = itemClient.createItem(2L, item());
+
+        assertEquals(HttpStatus.NOT_FOUND, notFound.getStatusCode());
+        assertArrayEquals(error.getBytes(StandardCharsets.UTF_8), (byte[]) notFound.getBody());
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, serverError.getStatusCode());
+        assertNull(serverError.getBody());
+        server.verify();
+    }
+
+    @Test
+    void writeShouldInvalidateCachedResponses() {
+        server.expect(requestTo(ITEM_SEARCH))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+        server.expect(requestTo("http://server/items"))
+                .andExpect(method(HttpMethod.POST))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON));
+        server.expect(requestTo(ITEM_SEARCH))
+                .andRespond(withSuccess("[{\"id\":1}]", MediaType.APPLICATION_JSON));
+
+        assertEquals("[]", body(itemClient.findByNameOrDescription("drill", 0, 10)));
+        assertEquals("[]", body(itemClient.findByNameOrDescription("drill", 0, 10)));
+        itemClient.createItem(2L, item());
+
+        assertEquals("[{\"id\":1}]", body(itemClient.findByNameOrDescription("drill", 0, 10)));
+        server.verify();
+    }
+
+    @Test
+    void failedWriteShouldKeepCachedResponses() {
+        server.expect(requestTo(ITEM_SEARCH))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+        server.expect(requestTo("http://server/items"))
+                .andRespond(withStatus(HttpStatus.BAD_REQUEST));
+
+        itemClient.findByNameOrDescription("drill", 0, 10);
+        assertEquals(HttpStatus.BAD_REQUEST, itemClient.createItem(2L, item()).getStatusCode());
+
+        assertEquals("[]", body(itemClient.findByNameOrDescription("drill", 0, 10)));
+        server.verify();
+    }
+
+    private static ItemDto item() {
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName("Drill");
+        itemDto.setDescription("Cordless drill");
+        itemDto.setAvailable(true);
+        return itemDto;
+    }
+
+    private static String body(ResponseEntity<Object> response) {
+        return new String((byte[]) response.getBody(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,206 @@
+package ru.practicum.shareit.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GatewayResponseCacheTest {
+    private static final URI ITEM_SEARCH = URI.create("http://server/items/search/?text=drill&from=0&size=10");
+    private static final URI ITEM = URI.create("http://server/items/5");
+    private static final String PUBLIC_VIEW = "{\"id\":5,\"lastBooking\":null,\"nextBooking\":null}";
+    private static final String OWNER_VIEW = "{\"id\":5,\"lastBooking\":{\"id\":1},\"nextBooking\":null}";
+
+    GatewayResponseCache cache;
+    AtomicInteger upstreamCalls;
+
+    @BeforeEach
+    void setUp() {
+        cache = new GatewayResponseCache(new ResponseCacheProperties(), new RequestCoalescer(new SimpleMeterRegistry()));
+        upstreamCalls = new AtomicInteger();
+    }
+
+    @Test
+    void repeatedGetShouldBeServedFromCache() {
+        assertEquals("first", body(cache.get(1L, ITEM_SEARCH, viewer -> load("first"))));
+        assertEquals("first", body(cache.get(1L, ITEM_SEARCH, viewer -> load("second"))));
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void writeShouldInvalidateCachedResponses() {
+        cache.get(1L, ITEM_SEARCH, viewer -> load("before write"));
+        cache.invalidateAll();
+
+        assertEquals("after write", body(cache.get(1L, ITEM_SEARCH, viewer -> load("after write"))));
+    }
+
+    @Test
+    void responseLoadedAcrossWriteShouldNotBeCached() {
+        cache.get(1L, ITEM_SEARCH, viewer -> {
+            ResponseEntity<Object> stale = load("stale");
+            cache.invalidateAll();
+            return stale;
+        });
+
+        assertEquals("fresh", body(cache.get(1L, ITEM_SEARCH, viewer -> load("fresh"))));
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void requestAfterWriteShouldNotJoinEarlierFlight() throws Exception {
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLeader = new CountDownLatch(1);
+        CompletableFuture<ResponseEntity<Object>> leader = CompletableFuture.supplyAsync(() ->
+                cache.get(1L, ITEM_SEARCH, viewer -> {
+                    leaderStarted.countDown();
+                    await(releaseLeader);
+                    return load("stale");
+                }));
+        assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+        cache.invalidateAll();
+        ResponseEntity<Object> afterWrite = cache.get(1L, ITEM_SEARCH, viewer -> load("fresh"));
+        releaseLeader.countDown();
+
+        assertEquals("fresh", body(afterWrite));
+        assertEquals("stale", body(leader.get(5, TimeUnit.SECONDS)));
+        assertEquals("fresh", body(cache.get(1L, ITEM_SEARCH, viewer -> load("unexpected"))));
+    }
+
+    @Test
+    void timeDependentBookingsShouldNotBeCached() {
+        URI currentBookings = URI.create("http://server/bookings?state=CURRENT&from=0&size=10");
+
+        cache.get(1L, currentBookings, viewer -> load("current"));
+        cache.get(1L, currentBookings, viewer -> load("current"));
+
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void itemViewShouldBeCached() {
+        String view = "{\"id\":5,\"lastBooking\":null,\"nextBooking\":null}";
+
+        cache.get(1L, ITEM, viewer -> load(view));
+
+        assertEquals(view, body(cache.get(1L, ITEM, viewer -> load("unexpected"))));
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void itemViewShouldNotOutliveItsNextBookingStart() {
+        String startedView = itemView(LocalDateTime.now().minusSeconds(1));
+
+        cache.get(1L, ITEM, viewer -> load(startedView));
+        cache.get(1L, ITEM, viewer -> load(startedView));
+
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void itemViewTtlShouldBeBoundedByEarliestNextBooking() {
+        Duration ttl = new ResponseCacheProperties().getTtl();
+        LocalDateTime soon = LocalDateTime.now().plusSeconds(2);
+        String items = "[" + itemView(LocalDateTime.now().plusDays(1)) + "," + itemView(soon) + "]";
+        URI ownerItems = URI.create("http://server/items?from=0&size=10");
+
+        assertEquals(ttl, cache.ttl(ITEM, bytes(itemView(LocalDateTime.now().plusDays(1)))));
+        assertTrue(cache.ttl(ownerItems, bytes(items)).compareTo(Duration.ofSeconds(2)) <= 0);
+        assertTrue(cache.ttl(ownerItems, bytes(items)).compareTo(Duration.ZERO) > 0);
+        assertEquals(Duration.ZERO, cache.ttl(ITEM, bytes("not json")));
+        assertEquals(ttl, cache.ttl(ITEM_SEARCH, bytes("not json")));
+    }
+
+    @Test
+    void usersOtherThanOwnerShouldShareOneItemView() {
+        List<Long> viewers = new ArrayList<>();
+
+        ResponseEntity<Object> first = cache.get(1L, ITEM, viewer -> loadFor(viewers, viewer, "9", PUBLIC_VIEW));
+        ResponseEntity<Object> second = cache.get(2L, ITEM, viewer -> loadFor(viewers, viewer, "9", "unexpected"));
+
+        assertEquals(PUBLIC_VIEW, body(first));
+        assertEquals(PUBLIC_VIEW, body(second));
+        assertFalse(first.getHeaders().containsKey(GatewayResponseCache.ITEM_OWNER_HEADER));
+        assertEquals(Arrays.asList((Long) null), viewers);
+    }
+
+    @Test
+    void ownerShouldGetOwnItemView() {
+        List<Long> viewers = new ArrayList<>();
+
+        cache.get(2L, ITEM, viewer -> loadFor(viewers, viewer, "1", PUBLIC_VIEW));
+        ResponseEntity<Object> ownerView = cache.get(1L, ITEM,
+                viewer -> loadFor(viewers, viewer, "1", viewer == null ? "unexpected" : OWNER_VIEW));
+
+        assertEquals(OWNER_VIEW, body(ownerView));
+        assertFalse(ownerView.getHeaders().containsKey(GatewayResponseCache.ITEM_OWNER_HEADER));
+        assertEquals(Arrays.asList(null, 1L), viewers);
+    }
+
+    @Test
+    void callerSpecificViewsShouldNotBeShared() {
+        URI myRequests = URI.create("http://server/requests?from=0&size=10");
+
+        cache.get(1L, myRequests, viewer -> load("first user"));
+
+        assertEquals("second user", body(cache.get(2L, myRequests, viewer -> load("second user"))));
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void isTimeDependent() {
+        assertFalse(GatewayResponseCache.isTimeDependent(URI.create("http://server/items?from=0&size=10")));
+        assertFalse(GatewayResponseCache.isTimeDependent(URI.create("http://server/items/1")));
+        assertTrue(GatewayResponseCache.isTimeDependent(URI.create("http://server/bookings/owner?state=PAST")));
+        assertTrue(GatewayResponseCache.isTimeDependent(URI.create("http://server/bookings?state=FUTURE&from=0")));
+        assertFalse(GatewayResponseCache.isTimeDependent(ITEM_SEARCH));
+        assertFalse(GatewayResponseCache.isTimeDependent(URI.create("http://server/bookings?state=ALL&from=0")));
+        assertFalse(GatewayResponseCache.isTimeDependent(URI.create("http://server/bookings/owner?state=WAITING")));
+        assertFalse(GatewayResponseCache.isTimeDependent(URI.create("http://server/requests/all?from=0&size=10")));
+    }
+
+    private ResponseEntity<Object> load(String body) {
+        upstreamCalls.incrementAndGet();
+        return ResponseEntity.ok(bytes(body));
+    }
+
+    private ResponseEntity<Object> loadFor(List<Long> viewers, Long viewer, String ownerId, String body) {
+        viewers.add(viewer);
+        return ResponseEntity.ok().header(GatewayResponseCache.ITEM_OWNER_HEADER, ownerId).body(bytes(body));
+    }
+
+    private static String itemView(LocalDateTime nextBookingStart) {
+        return "{\"id\":5,\"nextBooking\":{\"id\":1,\"start\":\"" + nextBookingStart + "\",\"bookerId\":2}}";
+    }
+
+    private static byte[] bytes(String body) {
+        return body.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String body(ResponseEntity<Object> response) {
+        return new String((byte[]) response.getBody(), StandardCharsets.UTF_8);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
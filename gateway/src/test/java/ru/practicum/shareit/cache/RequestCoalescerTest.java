@@ -0,0 +1,118 @@
+package ru.practicum.shareit.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestCoalescerTest {
+    private static final int REQUESTS = 4;
+
+    SimpleMeterRegistry meterRegistry;
+    RequestCoalescer coalescer;
+    ExecutorService executor;
+    AtomicInteger upstreamCalls;
+    CountDownLatch releaseUpstream;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new RequestCoalescer(meterRegistry);
+        executor = Executors.newFixedThreadPool(REQUESTS);
+        upstreamCalls = new AtomicInteger();
+        releaseUpstream = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallsShouldShareOneUpstreamCall() throws Exception {
+        ResponseEntity<Object> upstreamResponse = ResponseEntity.ok("items");
+
+        List<Future<ResponseEntity<Object>>> responses = submitConcurrently(() -> {
+            await(releaseUpstream);
+            return upstreamResponse;
+        });
+
+        for (Future<ResponseEntity<Object>> response : responses) {
+            assertSame(upstreamResponse, response.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(REQUESTS - 1, savedCalls());
+    }
+
+    @Test
+    void upstreamFailureShouldReachEveryWaitingCall() throws Exception {
+        List<Future<ResponseEntity<Object>>> responses = submitConcurrently(() -> {
+            await(releaseUpstream);
+            throw new IllegalStateException("upstream is down");
+        });
+
+        for (Future<ResponseEntity<Object>> response : responses) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> response.get(5, TimeUnit.SECONDS));
+            assertEquals("upstream is down", e.getCause().getMessage());
+        }
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void completedCallShouldNotBeShared() {
+        coalescer.execute("GET /items/search", () -> count(ResponseEntity.ok("first")));
+        coalescer.execute("GET /items/search", () -> count(ResponseEntity.ok("second")));
+
+        assertEquals(2, upstreamCalls.get());
+        assertEquals(0, savedCalls());
+    }
+
+    // the upstream answer is held until every other call has joined the flight
+    private List<Future<ResponseEntity<Object>>> submitConcurrently(Supplier<ResponseEntity<Object>> upstream)
+            throws InterruptedException {
+        List<Future<ResponseEntity<Object>>> responses = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            responses.add(executor.submit(() -> coalescer.execute("GET /items/search", () -> {
+                upstreamCalls.incrementAndGet();
+                return upstream.get();
+            })));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (savedCalls() < REQUESTS - 1 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        releaseUpstream.countDown();
+        return responses;
+    }
+
+    private ResponseEntity<Object> count(ResponseEntity<Object> response) {
+        upstreamCalls.incrementAndGet();
+        return response;
+    }
+
+    private double savedCalls() {
+        return meterRegistry.get("gateway.coalesced.requests").counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
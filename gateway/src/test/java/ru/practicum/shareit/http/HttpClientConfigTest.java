@@ -0,0 +1,65 @@
+package ru.practicum.shareit.http;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.RestTemplate;
+import ru.practicum.shareit.UpstreamStub;
+
+import java.io.IOException;
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HttpClientConfigTest {
+    HttpClientConfig config = new HttpClientConfig();
+    HttpClientProperties properties = new HttpClientProperties();
+    UpstreamStub upstream;
+    PoolingHttpClientConnectionManager connectionManager;
+    CloseableHttpClient httpClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        upstream = new UpstreamStub();
+        upstream.respond("GET", "/users/1", 200, "{\"id\":1}");
+        properties.setMaxPerRoute(5);
+        connectionManager = config.shareItServerConnectionManager(properties);
+        httpClient = config.shareItServerHttpClient(connectionManager, properties);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        httpClient.close();
+        connectionManager.close();
+        upstream.close();
+    }
+
+    @Test
+    void sequentialRequestsShouldReuseOnePooledConnection() {
+        RestTemplate rest = new RestTemplate(config.shareItServerRequestFactory(httpClient));
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(HttpStatus.OK, rest.getForEntity(upstream.url() + "/users/1", byte[].class).getStatusCode());
+        }
+
+        assertEquals(5, upstream.calls("GET", "/users/1"));
+        assertEquals(1, new HashSet<>(upstream.remotePorts()).size());
+        assertEquals(1, connectionManager.getTotalStats().getAvailable());
+        assertEquals(0, connectionManager.getTotalStats().getLeased());
+    }
+
+    @Test
+    void poolShouldBeSizedAndMeasuredFromProperties() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        config.shareItServerConnectionPoolMetrics(connectionManager).bindTo(meterRegistry);
+
+        assertEquals(properties.getMaxTotal(), connectionManager.getMaxTotal());
+        assertEquals(5, connectionManager.getDefaultMaxPerRoute());
+        assertEquals(properties.getMaxTotal(), meterRegistry.get("httpcomponents.httpclient.pool.total.max")
+                .tag("httpclient", "shareit-server").gauge().value());
+    }
+}
@@ -0,0 +1,186 @@
+package ru.practicum.shareit.items.controller;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import ru.practicum.shareit.UpstreamStub;
+import ru.practicum.shareit.cache.GatewayResponseCache;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ItemControllerTest {
+    private static final UpstreamStub UPSTREAM = startUpstream();
+    private static final String SEARCH = "/items/search?text=drill";
+    private static final String UPSTREAM_SEARCH = "/items/search/";
+
+    @LocalServerPort
+    int port;
+    @Autowired
+    GatewayResponseCache responseCache;
+    @Autowired
+    MeterRegistry meterRegistry;
+    HttpClient client = HttpClient.newHttpClient();
+
+    @DynamicPropertySource
+    static void upstream(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", UPSTREAM::url);
+    }
+
+    @AfterAll
+    static void stopUpstream() {
+        UPSTREAM.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        UPSTREAM.reset();
+        responseCache.invalidateAll();
+    }
+
+    @Test
+    void repeatedSearchShouldBeServedFromCacheWithETag() throws Exception {
+        UPSTREAM.respond("GET", UPSTREAM_SEARCH, 200, "[{\"id\":1,\"name\":\"Drill\"}]");
+
+        HttpResponse<String> first = send(get(SEARCH));
+        String eTag = first.headers().firstValue("ETag").orElseThrow();
+        HttpResponse<String> second = send(get(SEARCH));
+        HttpResponse<String> notModified = send(get(SEARCH).header("If-None-Match", eTag));
+
+        assertEquals(200, first.statusCode());
+        assertEquals("[{\"id\":1,\"name\":\"Drill\"}]", first.body());
+        assertEquals(first.body(), second.body());
+        assertEquals(304, notModified.statusCode());
+        assertEquals("", notModified.body());
+        assertEquals(1, UPSTREAM.calls("GET", UPSTREAM_SEARCH));
+    }
+
+    @Test
+    void createdItemShouldInvalidateCachedSearch() throws Exception {
+        UPSTREAM.respond("GET", UPSTREAM_SEARCH, 200, "[]");
+        UPSTREAM.respond("POST", "/items", 200, "{\"id\":1}");
+        send(get(SEARCH));
+
+        HttpResponse<String> created = send(HttpRequest.newBuilder(uri("/items"))
+                .header("X-Sharer-User-Id", "1")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"name\":\"Drill\",\"description\":\"Cordless\",\"available\":true}")));
+        UPSTREAM.respond("GET", UPSTREAM_SEARCH, 200, "[{\"id\":1}]");
+
+        assertEquals(200, created.statusCode());
+        assertEquals("[{\"id\":1}]", send(get(SEARCH)).body());
+        assertEquals(2, UPSTREAM.calls("GET", UPSTREAM_SEARCH));
+    }
+
+    @Test
+    void repeatedItemViewShouldBeServedFromCache() throws Exception {
+        UPSTREAM.respond("GET", "/items/1", 200, "{\"id\":1,\"name\":\"Drill\",\"nextBooking\":null}");
+
+        HttpResponse<String> first = send(get("/items/1").header("X-Sharer-User-Id", "2"));
+        HttpResponse<String> second = send(get("/items/1").header("X-Sharer-User-Id", "2"));
+
+        assertEquals(200, first.statusCode());
+        assertEquals(first.body(), second.body());
+        assertEquals(1, UPSTREAM.calls("GET", "/items/1"));
+    }
+
+    @Test
+    void concurrentSearchesShouldShareOneUpstreamCall() throws Exception {
+        UPSTREAM.respond("GET", UPSTREAM_SEARCH, 200, "[]");
+        double savedBefore = savedCalls();
+        UPSTREAM.hold();
+
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            responses.add(client.sendAsync(get(SEARCH).build(), HttpResponse.BodyHandlers.ofString()));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (savedCalls() - savedBefore < 3 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        UPSTREAM.release();
+
+        for (CompletableFuture<HttpResponse<String>> response : responses) {
+            assertEquals("[]", response.get(5, TimeUnit.SECONDS).body());
+        }
+        assertEquals(1, UPSTREAM.calls("GET", UPSTREAM_SEARCH));
+        assertEquals(3, savedCalls() - savedBefore);
+    }
+
+    @Test
+    void concurrentItemViewsOfDifferentUsersShouldShareOneUpstreamCall() throws Exception {
+        UPSTREAM.respond("GET", "/items/1", 200, "{\"id\":1,\"name\":\"Drill\",\"nextBooking\":null}");
+        double savedBefore = savedCalls();
+        UPSTREAM.hold();
+
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int userId = 2; userId < 4; userId++) {
+            responses.add(client.sendAsync(get("/items/1").header("X-Sharer-User-Id", String.valueOf(userId)).build(),
+                    HttpResponse.BodyHandlers.ofString()));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (savedCalls() - savedBefore < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        UPSTREAM.release();
+
+        for (CompletableFuture<HttpResponse<String>> response : responses) {
+            assertEquals(200, response.get(5, TimeUnit.SECONDS).statusCode());
+        }
+        assertEquals(1, UPSTREAM.calls("GET", "/items/1"));
+        assertEquals(1, savedCalls() - savedBefore);
+    }
+
+    @Test
+    void upstreamErrorShouldPassThroughUnchanged() throws Exception {
+        UPSTREAM.respond("GET", "/items/99", 404, "{\"error\":\"Item with id = 99 does not exist in database\"}");
+
+        HttpResponse<String> response = send(get("/items/99").header("X-Sharer-User-Id", "1"));
+
+        assertEquals(404, response.statusCode());
+        assertEquals("{\"error\":\"Item with id = 99 does not exist in database\"}", response.body());
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+
+    private double savedCalls() {
+        return meterRegistry.get("gateway.coalesced.requests").counter().count();
+    }
+
+    private static UpstreamStub startUpstream() {
+        try {
+            return new UpstreamStub();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package ru.practicum.shareit.items.controller;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import ru.practicum.shareit.UpstreamStub;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.main.web-application-type=reactive")
+@ActiveProfiles("reactive")
+class ReactiveItemControllerTest {
+    private static final UpstreamStub UPSTREAM = startUpstream();
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @DynamicPropertySource
+    static void upstream(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", UPSTREAM::url);
+    }
+
+    @AfterAll
+    static void stopUpstream() {
+        UPSTREAM.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        UPSTREAM.reset();
+    }
+
+    @Test
+    void searchShouldPassUpstreamBodyThrough() {
+        UPSTREAM.respond("GET", "/items/search/", 200, "[{\"id\":1,\"name\":\"Drill\"}]");
+
+        webTestClient.get().uri("/items/search?text=Drill")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody().json("[{\"id\":1,\"name\":\"Drill\"}]");
+    }
+
+    @Test
+    void writesShouldReachUpstreamEveryTime() {
+        UPSTREAM.respond("POST", "/items", 200, "{\"id\":1}");
+
+        for (int i = 0; i < 2; i++) {
+            webTestClient.post().uri("/items")
+                    .header("X-Sharer-User-Id", "1")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue("{\"name\":\"Drill\",\"description\":\"Cordless\",\"available\":true}")
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody().json("{\"id\":1}");
+        }
+
+        assertEquals(2, UPSTREAM.calls("POST", "/items"));
+    }
+
+    @Test
+    void upstreamErrorShouldPassThroughUnchanged() {
+        UPSTREAM.respond("GET", "/items/99", 404, "{\"error\":\"Item with id = 99 does not exist in database\"}");
+
+        webTestClient.get().uri("/items/99")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody().json("{\"error\":\"Item with id = 99 does not exist in database\"}");
+    }
+
+    @Test
+    void invalidRequestShouldNotReachUpstream() {
+        webTestClient.get().uri("/items/search?text=drill&size=0")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        assertEquals(0, UPSTREAM.calls("GET", "/items/search/"));
+    }
+
+    private static UpstreamStub startUpstream() {
+        try {
+            return new UpstreamStub();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
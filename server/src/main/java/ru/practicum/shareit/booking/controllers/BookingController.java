@@ -4,18 +4,27 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingDtoCompact;
 import ru.practicum.shareit.booking.dto.BookingDtoComplete;
 import ru.practicum.shareit.booking.exceptions.BookerAndOwnerAreSameUser;
+import ru.practicum.shareit.booking.exceptions.ItemAlreadyBooked;
 import ru.practicum.shareit.booking.exceptions.ItemNotAvailableException;
 import ru.practicum.shareit.booking.exceptions.StatusAlreadyConfirmed;
 import ru.practicum.shareit.booking.model.State;
 import ru.practicum.shareit.booking.services.BookingService;
 import ru.practicum.shareit.item.exceptions.WrongOwnerException;
+import ru.practicum.shareit.pagination.IncorrectPageCursor;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.user.exceptions.EntityNotFoundException;
 
+import javax.servlet.http.HttpServletResponse;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 @RestController
 @RequestMapping(path = "/bookings")
@@ -24,46 +33,71 @@ import java.util.Collection;
 public class BookingController {
     private final BookingService bookingService;
     private final String xSharerUserId = "X-Sharer-User-Id";
+    private final String idempotencyKeyHeader = "Idempotency-Key";
 
     @PostMapping
     public BookingDtoComplete createBooking(@RequestHeader(xSharerUserId) Long userId,
                                             @RequestBody BookingDto bookingDto)
-            throws EntityNotFoundException, ItemNotAvailableException, BookerAndOwnerAreSameUser {
-        log.info("POST request for /bookings received");
+            throws EntityNotFoundException, ItemNotAvailableException, BookerAndOwnerAreSameUser, ItemAlreadyBooked {
+        log.debug("POST request for /bookings received");
         return bookingService.save(userId, bookingDto);
     }
 
+    @PostMapping("/batch")
+    public List<BookingBatchResult> createBookings(@RequestHeader(xSharerUserId) Long userId,
+                                                   @RequestBody List<BookingDto> bookingDtos)
+            throws EntityNotFoundException {
+        log.debug("POST request for /bookings/batch with {} bookings received", bookingDtos.size());
+        return bookingService.saveAll(userId, bookingDtos);
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingDtoComplete confirmBooking(@RequestHeader(xSharerUserId) Long ownerId, @PathVariable Long bookingId,
-                                             @RequestParam(value = "approved") boolean isApproved)
+                                             @RequestParam(value = "approved") boolean isApproved,
+                                             @RequestHeader(value = idempotencyKeyHeader, required = false)
+                                             String idempotencyKey)
             throws WrongOwnerException, EntityNotFoundException, StatusAlreadyConfirmed {
-        log.info(String.format("PATCH request for /bookings/%d/approved=%s received", bookingId, isApproved));
-        return bookingService.confirmBooking(ownerId, bookingId, isApproved);
+        log.debug("PATCH request for /bookings/{}/approved={} received", bookingId, isApproved);
+        return bookingService.confirmBooking(ownerId, bookingId, isApproved, idempotencyKey);
     }
 
     @GetMapping("/{bookingId}")
     public BookingDtoComplete findById(@RequestHeader(xSharerUserId) Long userId, @PathVariable Long bookingId)
             throws WrongOwnerException, EntityNotFoundException {
-        log.info(String.format("GET request for /bookings/%d received", bookingId));
+        log.debug("GET request for /bookings/{} received", bookingId);
         return bookingService.findById(userId, bookingId);
     }
 
+    @GetMapping(params = "ids")
+    public List<BookingBatchResult> findAllById(@RequestHeader(xSharerUserId) Long userId,
+                                                @RequestParam(value = "ids") List<Long> bookingIds) {
+        log.debug("GET request for /bookings?ids={} received", bookingIds);
+        return bookingService.findAllById(userId, bookingIds);
+    }
+
     @GetMapping()
     public Collection<BookingDtoComplete> findAllUsersBookingsByState(@RequestHeader(xSharerUserId) Long bookerId,
                                                                       @RequestParam(value = "state", defaultValue = "ALL") String stateString,
                                                                       @RequestParam(value = "from", defaultValue = "0", required = false)
                                                                       Integer startingEntry,
                                                                       @RequestParam(value = "size", defaultValue = "10", required = false)
-                                                                      Integer size)
-            throws EntityNotFoundException {
-        Pageable pageable;
-        if (size != null && startingEntry != null) {
-            pageable = PageRequest.of(startingEntry / size, size);
-        } else {
-            pageable = Pageable.unpaged();
+                                                                      Integer size,
+                                                                      @RequestParam(value = "after", required = false) String after,
+                                                                      HttpServletResponse response)
+            throws EntityNotFoundException, IncorrectPageCursor {
+        Collection<BookingDtoComplete> bookings;
+        if (after != null) {
+            log.debug("GET request for /bookings?state={}&after={}", stateString, after);
+            bookings = bookingService.findAllUsersBookingsByState(bookerId, State.valueOf(stateString),
+                    decodeCursor(after), size);
+            addNextCursor(response, bookings, size);
+            return bookings;
         }
-        log.info(String.format("GET request for /bookings?state=%s", stateString));
-        return bookingService.findAllUsersBookingsByState(bookerId, State.valueOf(stateString), pageable);
+        log.debug("GET request for /bookings?state={}", stateString);
+        bookings = bookingService.findAllUsersBookingsByState(bookerId, State.valueOf(stateString),
+                toPageable(startingEntry, size));
+        addNextCursor(response, bookings, size);
+        return bookings;
     }
 
     @GetMapping("/owner")
@@ -72,15 +106,96 @@ public class BookingController {
                                                                        @RequestParam(value = "from", defaultValue = "0", required = false)
                                                                        Integer startingEntry,
                                                                        @RequestParam(value = "size", defaultValue = "10", required = false)
-                                                                       Integer size)
-            throws EntityNotFoundException {
-        Pageable pageable;
+                                                                       Integer size,
+                                                                       @RequestParam(value = "after", required = false) String after,
+                                                                       HttpServletResponse response)
+            throws EntityNotFoundException, IncorrectPageCursor {
+        Collection<BookingDtoComplete> bookings;
+        if (after != null) {
+            log.debug("GET request for /bookings/owner?state={}&after={}", stateString, after);
+            bookings = bookingService.findAllOwnersBookingsByState(ownerId, State.valueOf(stateString),
+                    decodeCursor(after), size);
+            addNextCursor(response, bookings, size);
+            return bookings;
+        }
+        log.debug("GET request for /bookings/owner?state={}", stateString);
+        bookings = bookingService.findAllOwnersBookingsByState(ownerId, State.valueOf(stateString),
+                toPageable(startingEntry, size));
+        addNextCursor(response, bookings, size);
+        return bookings;
+    }
+
+    @GetMapping(produces = BookingDtoCompact.MEDIA_TYPE)
+    public List<BookingDtoCompact> findAllUsersBookingsCompact(@RequestHeader(xSharerUserId) Long bookerId,
+                                                               @RequestParam(value = "state", defaultValue = "ALL") String stateString,
+                                                               @RequestParam(value = "from", defaultValue = "0", required = false)
+                                                               Integer startingEntry,
+                                                               @RequestParam(value = "size", defaultValue = "10", required = false)
+                                                               Integer size,
+                                                               @RequestParam(value = "after", required = false) String after,
+                                                               HttpServletResponse response)
+            throws EntityNotFoundException, IncorrectPageCursor {
+        log.debug("GET request for compact /bookings?state={}", stateString);
+        List<BookingDtoCompact> bookings = after != null
+                ? bookingService.findAllUsersBookingsCompact(bookerId, State.valueOf(stateString), decodeCursor(after),
+                size)
+                : bookingService.findAllUsersBookingsCompact(bookerId, State.valueOf(stateString),
+                toPageable(startingEntry, size));
+        addNextCompactCursor(response, bookings, size);
+        return bookings;
+    }
+
+    @GetMapping(path = "/owner", produces = BookingDtoCompact.MEDIA_TYPE)
+    public List<BookingDtoCompact> findAllOwnersBookingsCompact(@RequestHeader(xSharerUserId) Long ownerId,
+                                                                @RequestParam(value = "state", defaultValue = "ALL") String stateString,
+                                                                @RequestParam(value = "from", defaultValue = "0", required = false)
+                                                                Integer startingEntry,
+                                                                @RequestParam(value = "size", defaultValue = "10", required = false)
+                                                                Integer size,
+                                                                @RequestParam(value = "after", required = false) String after,
+                                                                HttpServletResponse response)
+            throws EntityNotFoundException, IncorrectPageCursor {
+        log.debug("GET request for compact /bookings/owner?state={}", stateString);
+        List<BookingDtoCompact> bookings = after != null
+                ? bookingService.findAllOwnersBookingsCompact(ownerId, State.valueOf(stateString), decodeCursor(after),
+                size)
+                : bookingService.findAllOwnersBookingsCompact(ownerId, State.valueOf(stateString),
+                toPageable(startingEntry, size));
+        addNextCompactCursor(response, bookings, size);
+        return bookings;
+    }
+
+    private Pageable toPageable(Integer startingEntry, Integer size) {
         if (size != null && startingEntry != null) {
-            pageable = PageRequest.of(startingEntry / size, size);
-        } else {
-            pageable = Pageable.unpaged();
+            return PageRequest.of(startingEntry / size, size);
+        }
+        return Pageable.unpaged();
+    }
+
+    private PageCursor decodeCursor(String after) throws IncorrectPageCursor {
+        PageCursor cursor = PageCursor.decode(after);
+        if (cursor.getStart() == null) {
+            throw new IncorrectPageCursor(String.format("Page cursor %s does not point to a booking", after));
+        }
+        return cursor;
+    }
+
+    private void addNextCursor(HttpServletResponse response, Collection<BookingDtoComplete> bookings, Integer size) {
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        if (size == null || bookings == null || bookings.size() < size) {
+            return;
+        }
+        List<BookingDtoComplete> page = new ArrayList<>(bookings);
+        BookingDtoComplete last = page.get(page.size() - 1);
+        response.setHeader(PageCursor.NEXT_CURSOR_HEADER, PageCursor.of(last.getStart(), last.getId()).encode());
+    }
+
+    private void addNextCompactCursor(HttpServletResponse response, List<BookingDtoCompact> bookings, Integer size) {
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        if (size == null || bookings.size() < size) {
+            return;
         }
-        log.info(String.format("GET request for /bookings/owner?state=%s", stateString));
-        return bookingService.findAllOwnersBookingsByState(ownerId, State.valueOf(stateString), pageable);
+        BookingDtoCompact last = bookings.get(bookings.size() - 1);
+        response.setHeader(PageCursor.NEXT_CURSOR_HEADER, PageCursor.of(last.getStart(), last.getId()).encode());
     }
 }
\ No newline at end of file
@@ -8,6 +8,7 @@ import ru.practicum.shareit.booking.model.Booking;
 public interface BookingMapper {
     @Mapping(target = "start", source = "bookingDto.start")
     @Mapping(target = "end", source = "bookingDto.end")
+    @Mapping(target = "version", ignore = true)
     Booking dtoToModel(BookingDto bookingDto);
 
     @Mapping(target = "start", source = "booking.start")
@@ -12,6 +12,7 @@ public interface BookingMapperComplete {
     @Mapping(target = "item", source = "bookingDtoComplete.item")
     @Mapping(target = "booker", source = "bookingDtoComplete.booker")
     @Mapping(target = "status", source = "bookingDtoComplete.status")
+    @Mapping(target = "version", ignore = true)
     Booking dtoToModel(BookingDtoComplete bookingDtoComplete);
 
     @Mapping(target = "id", source = "booking.id")
@@ -3,6 +3,7 @@ package ru.practicum.shareit.booking.dto;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.BookingSnapshot;
 
 @Mapper(componentModel = "spring")
 public interface BookingMapperForItems {
@@ -10,6 +11,7 @@ public interface BookingMapperForItems {
     @Mapping(target = "end", source = "bookingDtoForItems.end")
     @Mapping(target = "start", source = "bookingDtoForItems.start")
     @Mapping(target = "status", source = "bookingDtoForItems.status")
+    @Mapping(target = "version", ignore = true)
     Booking dtoToModel(BookingDtoForItems bookingDtoForItems);
 
     @Mapping(target = "id", source = "booking.id")
@@ -18,4 +20,9 @@ public interface BookingMapperForItems {
     @Mapping(target = "bookerId", source = "booking.booker.id")
     @Mapping(target = "status", source = "booking.status")
     BookingDtoForItems modelToDto(Booking booking);
+
+    @Mapping(target = "bookerId", source = "booking.booker.id")
+    BookingSnapshot modelToSnapshot(Booking booking);
+
+    BookingDtoForItems snapshotToDto(BookingSnapshot bookingSnapshot);
 }
\ No newline at end of file
@@ -40,4 +40,10 @@ public class BookingExceptionHandler {
     public Map<String, String> handleEntityNotFound(final EntityNotFoundException e) {
         return Map.of("Incorrect data", e.getMessage());
     }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public Map<String, String> handleItemAlreadyBooked(final ItemAlreadyBooked e) {
+        return Map.of("error", e.getMessage());
+    }
 }
\ No newline at end of file
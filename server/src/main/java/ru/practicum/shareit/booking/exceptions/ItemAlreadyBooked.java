@@ -0,0 +1,7 @@
+package ru.practicum.shareit.booking.exceptions;
+
+public class ItemAlreadyBooked extends Exception {
+    public ItemAlreadyBooked(String message) {
+        super(message);
+    }
+}
@@ -1,44 +1,215 @@
 package ru.practicum.shareit.booking.repository;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingDtoCompact;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
-    Collection<Booking> findAllByBookerIdAndEndBeforeOrderByStartDesc(Long bookerId, LocalDateTime now);
+    String AFTER_CURSOR = "and (b.start < :start or (b.start = :start and b.id < :id)) ";
+    String CURSOR_ORDER = "order by b.start desc, b.id desc";
+    // inner fetch joins, unlike the outer joins of an entity graph, leave the planner free to start from items
+    String FULL_VIEW = "select b from Booking b join fetch b.item i join fetch b.booker ";
+    String OF_BOOKER = FULL_VIEW + "where b.booker.id = :bookerId ";
+    String OF_OWNER = FULL_VIEW + "where i.ownerId = :ownerId ";
+    String COMPACT_VIEW = "select new ru.practicum.shareit.booking.dto.BookingDtoCompact(b.id, b.start, b.end, " +
+            "i.id, i.name, b.booker.id, b.status) from Booking b join b.item i ";
+    String STATE_WINDOW = "and b.start > :startAfter and b.start < :startBefore and b.end > :endAfter " +
+            "and b.end < :endBefore and b.status in :statuses ";
 
-    Collection<Booking> findAllByItemOwnerIdOrderByStartDesc(Long ownerId);
+    @Override
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Optional<Booking> findById(Long id);
 
-    Collection<Booking> findAllByItemIdOrderByStartDesc(Long itemId);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    List<Booking> findAllByIdIn(Collection<Long> ids);
 
-    List<Booking> findAllByBookerIdAndEndBeforeOrderByStartDesc(Long bookerId, LocalDateTime now, Pageable pageRequest);
+    boolean existsByBookerIdAndItemIdAndStatusAndEndBefore(Long bookerId, Long itemId, Status status,
+                                                           LocalDateTime now);
 
-    List<Booking> findAllByBookerIdAndStartAfterAndStatusNotOrderByStartDesc(Long bookerId, LocalDateTime now,
-                                                                             Status status, Pageable pageRequest);
+    @Query(OF_BOOKER + "and b.end < :now " + CURSOR_ORDER)
+    List<Booking> findAllByBookerIdAndEndBeforeOrderByStartDescIdDesc(@Param("bookerId") Long bookerId,
+                                                                      @Param("now") LocalDateTime now,
+                                                                      Pageable pageRequest);
 
-    List<Booking> findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(Long bookerId, LocalDateTime now1,
-                                                                             LocalDateTime now2, Pageable pageRequest);
+    @Query(OF_BOOKER + "and b.start > :now and b.status <> :status " + CURSOR_ORDER)
+    List<Booking> findAllByBookerIdAndStartAfterAndStatusNotOrderByStartDescIdDesc(@Param("bookerId") Long bookerId,
+                                                                                   @Param("now") LocalDateTime now,
+                                                                                   @Param("status") Status status,
+                                                                                   Pageable pageRequest);
 
-    List<Booking> findAllByBookerIdAndStatusOrderByStartDesc(Long bookerId, Status status, Pageable pageRequest);
+    @Query(OF_BOOKER + "and b.start < :now1 and b.end > :now2 " + CURSOR_ORDER)
+    List<Booking> findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDescIdDesc(@Param("bookerId") Long bookerId,
+                                                                                   @Param("now1") LocalDateTime now1,
+                                                                                   @Param("now2") LocalDateTime now2,
+                                                                                   Pageable pageRequest);
 
-    List<Booking> findAllByBookerIdOrderByStartDesc(Long bookerId, Pageable pageRequest);
+    @Query(OF_BOOKER + "and b.status = :status " + CURSOR_ORDER)
+    List<Booking> findAllByBookerIdAndStatusOrderByStartDescIdDesc(@Param("bookerId") Long bookerId,
+                                                                   @Param("status") Status status,
+                                                                   Pageable pageRequest);
 
-    List<Booking> findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(Long ownerId, LocalDateTime now, Pageable pageRequest);
+    @Query(OF_BOOKER + CURSOR_ORDER)
+    List<Booking> findAllByBookerIdOrderByStartDescIdDesc(@Param("bookerId") Long bookerId, Pageable pageRequest);
 
-    List<Booking> findAllByItemOwnerIdAndStartAfterAndStatusNotOrderByStartDesc(Long ownerId, LocalDateTime now,
-                                                                                Status status, Pageable pageRequest);
+    @Query(OF_OWNER + "and b.end < :now " + CURSOR_ORDER)
+    List<Booking> findAllByItemOwnerIdAndEndBeforeOrderByStartDescIdDesc(@Param("ownerId") Long ownerId,
+                                                                         @Param("now") LocalDateTime now,
+                                                                         Pageable pageRequest);
 
-    List<Booking> findAllByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(Long ownerId, LocalDateTime now1,
-                                                                                LocalDateTime now2, Pageable pageRequest);
+    @Query(OF_OWNER + "and b.start > :now and b.status <> :status " + CURSOR_ORDER)
+    List<Booking> findAllByItemOwnerIdAndStartAfterAndStatusNotOrderByStartDescIdDesc(@Param("ownerId") Long ownerId,
+                                                                                      @Param("now") LocalDateTime now,
+                                                                                      @Param("status") Status status,
+                                                                                      Pageable pageRequest);
 
-    List<Booking> findAllByItemOwnerIdAndStatusOrderByStartDesc(Long ownerId, Status status, Pageable pageRequest);
+    @Query(OF_OWNER + "and b.start < :now1 and b.end > :now2 " + CURSOR_ORDER)
+    List<Booking> findAllByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDescIdDesc(@Param("ownerId") Long ownerId,
+                                                                                      @Param("now1") LocalDateTime now1,
+                                                                                      @Param("now2") LocalDateTime now2,
+                                                                                      Pageable pageRequest);
 
-    List<Booking> findAllByItemOwnerIdOrderByStartDesc(Long ownerId, Pageable pageRequest);
+    @Query(OF_OWNER + "and b.status = :status " + CURSOR_ORDER)
+    List<Booking> findAllByItemOwnerIdAndStatusOrderByStartDescIdDesc(@Param("ownerId") Long ownerId,
+                                                                      @Param("status") Status status,
+                                                                      Pageable pageRequest);
+
+    @Query(OF_OWNER + CURSOR_ORDER)
+    List<Booking> findAllByItemOwnerIdOrderByStartDescIdDesc(@Param("ownerId") Long ownerId, Pageable pageRequest);
+
+    @Query(OF_BOOKER + AFTER_CURSOR + CURSOR_ORDER)
+    List<Booking> findAllByBookerIdAfterCursor(@Param("bookerId") Long bookerId, @Param("start") LocalDateTime start,
+                                               @Param("id") Long id, Pageable pageRequest);
+
+    @Query(OF_BOOKER + "and b.end < :now " + AFTER_CURSOR + CURSOR_ORDER)
+    List<Booking> findPastByBookerIdAfterCursor(@Param("bookerId") Long bookerId, @Param("now") LocalDateTime now,
+                                                @Param("start") LocalDateTime start, @Param("id") Long id,
+                                                Pageable pageRequest);
+
+    @Query(OF_BOOKER + "and b.start < :now and b.end > :now " +
+            AFTER_CURSOR + CURSOR_ORDER)
+    List<Booking> findCurrentByBookerIdAfterCursor(@Param("bookerId") Long bookerId, @Param("now") LocalDateTime now,
+                                                   @Param("start") LocalDateTime start, @Param("id") Long id,
+                                                   Pageable pageRequest);
+
+    @Query(OF_BOOKER + "and b.start > :now and b.status <> :status " +
+            AFTER_CURSOR + CURSOR_ORDER)
+    List<Booking> findFutureByBookerIdAfterCursor(@Param("bookerId") Long bookerId, @Param("now") LocalDateTime now,
+                                                  @Param("status") Status excludedStatus,
+                                                  @Param("start") LocalDateTime start, @Param("id") Long id,
+                                                  Pageable pageRequest);
+
+    @Query(OF_BOOKER + "and b.status = :status " + AFTER_CURSOR + CURSOR_ORDER)
+    List<Booking> findAllByBookerIdAndStatusAfterCursor(@Param("bookerId") Long bookerId, @Param("status") Status status,
+                                                        @Param("start") LocalDateTime start, @Param("id") Long id,
+                                                        Pageable pageRequest);
+
+    @Query(OF_OWNER + AFTER_CURSOR + CURSOR_ORDER)
+    List<Booking> findAllByItemOwnerIdAfterCursor(@Param("ownerId") Long ownerId, @Param("start") LocalDateTime start,
+                                                  @Param("id") Long id, Pageable pageRequest);
+
+    @Query(OF_OWNER + "and b.end < :now " + AFTER_CURSOR + CURSOR_ORDER)
+    List<Booking> findPastByItemOwnerIdAfterCursor(@Param("ownerId") Long ownerId, @Param("now") LocalDateTime now,
+                                                   @Param("start") LocalDateTime start, @Param("id") Long id,
+                                                   Pageable pageRequest);
+
+    @Query(OF_OWNER + "and b.start < :now and b.end > :now " +
+            AFTER_CURSOR + CURSOR_ORDER)
+    List<Booking> findCurrentByItemOwnerIdAfterCursor(@Param("ownerId") Long ownerId, @Param("now") LocalDateTime now,
+                                                      @Param("start") LocalDateTime start, @Param("id") Long id,
+                                                      Pageable pageRequest);
+
+    @Query(OF_OWNER + "and b.start > :now and b.status <> :status " +
+            AFTER_CURSOR + CURSOR_ORDER)
+    List<Booking> findFutureByItemOwnerIdAfterCursor(@Param("ownerId") Long ownerId, @Param("now") LocalDateTime now,
+                                                     @Param("status") Status excludedStatus,
+                                                     @Param("start") LocalDateTime start, @Param("id") Long id,
+                                                     Pageable pageRequest);
+
+    @Query(OF_OWNER + "and b.status = :status " +
+            AFTER_CURSOR + CURSOR_ORDER)
+    List<Booking> findAllByItemOwnerIdAndStatusAfterCursor(@Param("ownerId") Long ownerId, @Param("status") Status status,
+                                                           @Param("start") LocalDateTime start, @Param("id") Long id,
+                                                           Pageable pageRequest);
+
+    @Query(COMPACT_VIEW + "where b.booker.id = :bookerId " + STATE_WINDOW + CURSOR_ORDER)
+    List<BookingDtoCompact> findCompactByBookerId(@Param("bookerId") Long bookerId,
+                                                  @Param("startAfter") LocalDateTime startAfter,
+                                                  @Param("startBefore") LocalDateTime startBefore,
+                                                  @Param("endAfter") LocalDateTime endAfter,
+                                                  @Param("endBefore") LocalDateTime endBefore,
+                                                  @Param("statuses") Collection<Status> statuses,
+                                                  Pageable pageRequest);
+
+    @Query(COMPACT_VIEW + "where b.booker.id = :bookerId " + STATE_WINDOW + AFTER_CURSOR + CURSOR_ORDER)
+    List<BookingDtoCompact> findCompactByBookerIdAfterCursor(@Param("bookerId") Long bookerId,
+                                                             @Param("startAfter") LocalDateTime startAfter,
+                                                             @Param("startBefore") LocalDateTime startBefore,
+                                                             @Param("endAfter") LocalDateTime endAfter,
+                                                             @Param("endBefore") LocalDateTime endBefore,
+                                                             @Param("statuses") Collection<Status> statuses,
+                                                             @Param("start") LocalDateTime start, @Param("id") Long id,
+                                                             Pageable pageRequest);
+
+    @Query(COMPACT_VIEW + "where i.ownerId = :ownerId " + STATE_WINDOW + CURSOR_ORDER)
+    List<BookingDtoCompact> findCompactByItemOwnerId(@Param("ownerId") Long ownerId,
+                                                     @Param("startAfter") LocalDateTime startAfter,
+                                                     @Param("startBefore") LocalDateTime startBefore,
+                                                     @Param("endAfter") LocalDateTime endAfter,
+                                                     @Param("endBefore") LocalDateTime endBefore,
+                                                     @Param("statuses") Collection<Status> statuses,
+                                                     Pageable pageRequest);
+
+    @Query(COMPACT_VIEW + "where i.ownerId = :ownerId " + STATE_WINDOW + AFTER_CURSOR + CURSOR_ORDER)
+    List<BookingDtoCompact> findCompactByItemOwnerIdAfterCursor(@Param("ownerId") Long ownerId,
+                                                                @Param("startAfter") LocalDateTime startAfter,
+                                                                @Param("startBefore") LocalDateTime startBefore,
+                                                                @Param("endAfter") LocalDateTime endAfter,
+                                                                @Param("endBefore") LocalDateTime endBefore,
+                                                                @Param("statuses") Collection<Status> statuses,
+                                                                @Param("start") LocalDateTime start,
+                                                                @Param("id") Long id, Pageable pageRequest);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Booking b set b.status = :status, b.version = b.version + 1 " +
+            "where b.id = :id and b.status = :expectedStatus")
+    int updateStatus(@Param("id") Long id, @Param("expectedStatus") Status expectedStatus,
+                     @Param("status") Status status);
+
+    @Query("select count(b) > 0 from Booking b where b.item.id = :itemId and b.status in :statuses " +
+            "and b.start < :end and b.end > :start")
+    boolean existsOverlapping(@Param("itemId") Long itemId, @Param("start") LocalDateTime start,
+                              @Param("end") LocalDateTime end, @Param("statuses") Collection<Status> statuses);
+
+    @Query("select b from Booking b join fetch b.item where b.item.id in :itemIds and b.status in :statuses " +
+            "and b.start < :end and b.end > :start")
+    List<Booking> findOverlapping(@Param("itemIds") Collection<Long> itemIds, @Param("start") LocalDateTime start,
+                                  @Param("end") LocalDateTime end, @Param("statuses") Collection<Status> statuses);
+
+    @Query("select min(b.start) from Booking b where b.item.id = :itemId and b.start >= :now")
+    LocalDateTime findNextStartOfItem(@Param("itemId") Long itemId, @Param("now") LocalDateTime now);
+
+    @Query("select b from Booking b join fetch b.item join fetch b.booker where b.item.id in :itemIds " +
+            "and b.start = (select max(lb.start) from Booking lb where lb.item = b.item and lb.start < :now)")
+    List<Booking> findLastBookingsOfItems(@Param("itemIds") Collection<Long> itemIds, @Param("now") LocalDateTime now);
+
+    @Query("select b from Booking b join fetch b.item join fetch b.booker where b.item.id in :itemIds " +
+            "and b.status <> :excludedStatus and b.start = (select min(nb.start) from Booking nb " +
+            "where nb.item = b.item and nb.start > :now and nb.status <> :excludedStatus)")
+    List<Booking> findNextBookingsOfItems(@Param("itemIds") Collection<Long> itemIds, @Param("now") LocalDateTime now,
+                                          @Param("excludedStatus") Status excludedStatus);
 }
\ No newline at end of file
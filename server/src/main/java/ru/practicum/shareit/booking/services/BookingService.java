@@ -2,30 +2,60 @@ package ru.practicum.shareit.booking.services;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingDtoCompact;
 import ru.practicum.shareit.booking.dto.BookingDtoComplete;
 import ru.practicum.shareit.booking.exceptions.BookerAndOwnerAreSameUser;
+import ru.practicum.shareit.booking.exceptions.ItemAlreadyBooked;
 import ru.practicum.shareit.booking.exceptions.ItemNotAvailableException;
 import ru.practicum.shareit.booking.exceptions.StatusAlreadyConfirmed;
 import ru.practicum.shareit.booking.model.State;
 import ru.practicum.shareit.item.exceptions.WrongOwnerException;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.user.exceptions.EntityNotFoundException;
 
 import java.util.Collection;
+import java.util.List;
 
 @Service
 public interface BookingService {
     BookingDtoComplete save(Long bookerId, BookingDto bookingDto) throws EntityNotFoundException,
-            ItemNotAvailableException, BookerAndOwnerAreSameUser;
+            ItemNotAvailableException, BookerAndOwnerAreSameUser, ItemAlreadyBooked;
+
+    List<BookingBatchResult> saveAll(Long bookerId, List<BookingDto> bookingDtos) throws EntityNotFoundException;
 
     BookingDtoComplete confirmBooking(Long ownerId, Long bookingId, boolean isApproved) throws EntityNotFoundException,
             WrongOwnerException, StatusAlreadyConfirmed;
 
+    BookingDtoComplete confirmBooking(Long ownerId, Long bookingId, boolean isApproved, String idempotencyKey)
+            throws EntityNotFoundException, WrongOwnerException, StatusAlreadyConfirmed;
+
     BookingDtoComplete findById(Long userId, Long bookingId) throws EntityNotFoundException, WrongOwnerException;
 
+    List<BookingBatchResult> findAllById(Long userId, List<Long> bookingIds);
+
     Collection<BookingDtoComplete> findAllUsersBookingsByState(Long bookerId, State state, Pageable pageable)
             throws EntityNotFoundException;
 
     Collection<BookingDtoComplete> findAllOwnersBookingsByState(Long ownerId, State state, Pageable pageable)
             throws EntityNotFoundException;
+
+    List<BookingDtoComplete> findAllUsersBookingsByState(Long bookerId, State state, PageCursor after, int size)
+            throws EntityNotFoundException;
+
+    List<BookingDtoComplete> findAllOwnersBookingsByState(Long ownerId, State state, PageCursor after, int size)
+            throws EntityNotFoundException;
+
+    List<BookingDtoCompact> findAllUsersBookingsCompact(Long bookerId, State state, Pageable pageable)
+            throws EntityNotFoundException;
+
+    List<BookingDtoCompact> findAllOwnersBookingsCompact(Long ownerId, State state, Pageable pageable)
+            throws EntityNotFoundException;
+
+    List<BookingDtoCompact> findAllUsersBookingsCompact(Long bookerId, State state, PageCursor after, int size)
+            throws EntityNotFoundException;
+
+    List<BookingDtoCompact> findAllOwnersBookingsCompact(Long ownerId, State state, PageCursor after, int size)
+            throws EntityNotFoundException;
 }
\ No newline at end of file
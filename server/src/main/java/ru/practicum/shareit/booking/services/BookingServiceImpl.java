@@ -1,14 +1,23 @@
 package ru.practicum.shareit.booking.services;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingDtoCompact;
 import ru.practicum.shareit.booking.dto.BookingDtoComplete;
 import ru.practicum.shareit.booking.dto.BookingMapper;
 import ru.practicum.shareit.booking.dto.BookingMapperComplete;
 import ru.practicum.shareit.booking.exceptions.BookerAndOwnerAreSameUser;
+import ru.practicum.shareit.booking.exceptions.ItemAlreadyBooked;
 import ru.practicum.shareit.booking.exceptions.ItemNotAvailableException;
 import ru.practicum.shareit.booking.exceptions.StatusAlreadyConfirmed;
 import ru.practicum.shareit.booking.model.Booking;
@@ -18,56 +27,171 @@ import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.item.exceptions.WrongOwnerException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemJpaRepository;
+import ru.practicum.shareit.item.services.ItemSummaryService;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.user.exceptions.EntityNotFoundException;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserJpaRepository;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class BookingServiceImpl implements BookingService {
+    private static final List<Status> ACTIVE_STATUSES = List.of(Status.WAITING, Status.APPROVED);
+
     private final BookingRepository bookingRepository;
     private final BookingMapper bookingMapper;
     private final BookingMapperComplete bookingMapperComplete;
     private final UserJpaRepository userRepository;
     private final ItemJpaRepository itemRepository;
+    private final ItemSummaryService itemSummaryService;
+    private final PlatformTransactionManager transactionManager;
+    private final ReentrantLock[] itemLocks = createItemLocks(64);
+    // retries with the same idempotency key come within minutes, older keys only take memory
+    private final Cache<String, BookingDtoComplete> confirmations = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofHours(1))
+            .build();
 
     public BookingDtoComplete save(Long bookerId, BookingDto bookingDto) throws EntityNotFoundException,
-            ItemNotAvailableException, BookerAndOwnerAreSameUser {
+            ItemNotAvailableException, BookerAndOwnerAreSameUser, ItemAlreadyBooked {
         Long itemId = bookingDto.getItemId();
         Booking booking = bookingMapper.dtoToModel(bookingDto);
         Item item = itemRepository.findById(itemId).orElseThrow(() ->
                 new EntityNotFoundException(String.format("%s with id = %d does not exist in database", "Item", itemId)));
-        Long ownerId = item.getOwnerId();
-        if (Objects.equals(bookerId, ownerId)) {
-            throw new BookerAndOwnerAreSameUser("You cant rent your own Item");
-        }
-        if (!item.getAvailable()) {
-            throw new ItemNotAvailableException(String.format("Item with id = %d is not available for booking", itemId));
-        }
+        checkIsItemBookable(bookerId, item);
         User booker = userRepository.findById(bookerId).orElseThrow(
                 () -> new EntityNotFoundException(String.format("%s with id = %d does not exist in database", "User", bookerId)));
-        log.debug(String.format("Booker with id = %d for new Booking found", bookerId));
-        log.debug(String.format("Item with id = %d for new Booking found", itemId));
+        log.debug("Booker with id = {} for new Booking found", bookerId);
+        log.debug("Item with id = {} for new Booking found", itemId);
         booking.setBooker(booker);
         booking.setItem(item);
         booking.setStatus(Status.WAITING);
         log.debug("Booker, Item, Status fields for new Booking initialized");
-        bookingRepository.save(booking);
+
+        ReentrantLock itemLock = itemLocks[Math.floorMod(itemId.hashCode(), itemLocks.length)];
+        itemLock.lock();
+        try {
+            if (bookingRepository.existsOverlapping(itemId, booking.getStart(), booking.getEnd(), ACTIVE_STATUSES)) {
+                throw itemAlreadyBooked(booking);
+            }
+            saveWithSummary(booking);
+        } catch (DataIntegrityViolationException e) {
+            if (isOverlapViolation(e)) {
+                throw itemAlreadyBooked(booking);
+            }
+            throw e;
+        } finally {
+            itemLock.unlock();
+        }
         return bookingMapperComplete.modelToDto(booking);
     }
 
+    public List<BookingBatchResult> saveAll(Long bookerId, List<BookingDto> bookingDtos) throws EntityNotFoundException {
+        User booker = userRepository.findById(bookerId).orElseThrow(
+                () -> new EntityNotFoundException(String.format("%s with id = %d does not exist in database", "User", bookerId)));
+        Map<Long, Item> items = itemRepository.findAllById(bookingDtos.stream()
+                        .map(BookingDto::getItemId)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        if (log.isDebugEnabled()) {
+            log.debug("Booker with id = {} and {} items for {} new Bookings found", bookerId, items.size(),
+                    bookingDtos.size());
+        }
+
+        BookingBatchResult[] results = new BookingBatchResult[bookingDtos.size()];
+        Map<Integer, Booking> candidates = new LinkedHashMap<>();
+        for (int i = 0; i < bookingDtos.size(); i++) {
+            BookingDto bookingDto = bookingDtos.get(i);
+            Item item = items.get(bookingDto.getItemId());
+            try {
+                if (item == null) {
+                    throw new EntityNotFoundException(String.format("%s with id = %d does not exist in database",
+                            "Item", bookingDto.getItemId()));
+                }
+                checkIsItemBookable(bookerId, item);
+            } catch (EntityNotFoundException | BookerAndOwnerAreSameUser | ItemNotAvailableException e) {
+                results[i] = new BookingBatchResult(null, e.getMessage());
+                continue;
+            }
+            Booking booking = bookingMapper.dtoToModel(bookingDto);
+            booking.setBooker(booker);
+            booking.setItem(item);
+            booking.setStatus(Status.WAITING);
+            candidates.put(i, booking);
+        }
+
+        List<ReentrantLock> locks = candidates.values().stream()
+                .map(booking -> Math.floorMod(booking.getItem().getId().hashCode(), itemLocks.length))
+                .distinct()
+                .sorted()
+                .map(stripe -> itemLocks[stripe])
+                .collect(Collectors.toList());
+        locks.forEach(ReentrantLock::lock);
+        try {
+            Map<Integer, Booking> accepted = rejectOverlapping(candidates, results);
+            try {
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    bookingRepository.saveAllAndFlush(accepted.values());
+                    accepted.values().stream()
+                            .map(booking -> booking.getItem().getId())
+                            .distinct()
+                            .sorted()
+                            .forEach(itemSummaryService::refresh);
+                });
+                accepted.forEach((i, booking) ->
+                        results[i] = new BookingBatchResult(bookingMapperComplete.modelToDto(booking), null));
+            } catch (DataIntegrityViolationException e) {
+                if (!isOverlapViolation(e)) {
+                    throw e;
+                }
+                log.debug("Batch insert hit a concurrent overlapping Booking, saving Bookings one by one");
+                accepted.forEach((i, booking) -> results[i] = saveOne(booking));
+            }
+        } finally {
+            locks.forEach(ReentrantLock::unlock);
+        }
+        return Arrays.asList(results);
+    }
+
     public BookingDtoComplete confirmBooking(Long ownerId, Long bookingId, boolean isApproved) throws EntityNotFoundException,
             WrongOwnerException, StatusAlreadyConfirmed {
+        return confirmBooking(ownerId, bookingId, isApproved, null);
+    }
+
+    public BookingDtoComplete confirmBooking(Long ownerId, Long bookingId, boolean isApproved, String idempotencyKey)
+            throws EntityNotFoundException, WrongOwnerException, StatusAlreadyConfirmed {
+        String confirmationKey = idempotencyKey == null ? null :
+                String.format("%d:%d:%b:%s", ownerId, bookingId, isApproved, idempotencyKey);
+        if (confirmationKey != null) {
+            BookingDtoComplete confirmed = confirmations.getIfPresent(confirmationKey);
+            if (confirmed != null) {
+                log.debug("Booking with id = {} already confirmed with key {}", bookingId,
+                        idempotencyKey);
+                return confirmed;
+            }
+        }
         Booking booking = bookingRepository.findById(bookingId).orElseThrow(
                 () -> new EntityNotFoundException(String.format("%s with id = %d does not exist in database", "Booking",
                         bookingId)));
-        Status currentStatus = booking.getStatus();
         Long bookedItemOwner = booking.getItem().getOwnerId();
         Long itemId = booking.getItem().getId();
         Status status = Status.REJECTED;
@@ -76,14 +200,17 @@ public class BookingServiceImpl implements BookingService {
         }
 
         if (Objects.equals(bookedItemOwner, ownerId)) {
-            if (currentStatus.equals(status)) {
+            if (booking.getStatus() != Status.WAITING || !updateStatusWithSummary(booking, status)) {
                 throw new StatusAlreadyConfirmed(String.format("This status - %b - is already assigned to Booking with " +
                         "id = %d", isApproved, bookingId));
             }
             booking.setStatus(status);
-            bookingRepository.save(booking);
-            log.debug(String.format("For Booking with id = %d confirmed owner update status", bookingId));
-            return bookingMapperComplete.modelToDto(booking);
+            log.debug("For Booking with id = {} confirmed owner update status", bookingId);
+            BookingDtoComplete confirmed = bookingMapperComplete.modelToDto(booking);
+            if (confirmationKey != null) {
+                confirmations.put(confirmationKey, confirmed);
+            }
+            return confirmed;
         } else {
             throw new WrongOwnerException(String.format("User with id = %d is not owner of Item with id = %d", ownerId,
                     itemId));
@@ -94,14 +221,29 @@ public class BookingServiceImpl implements BookingService {
         Booking booking = bookingRepository.findById(bookingId).orElseThrow(
                 () -> new EntityNotFoundException(String.format("%s with id = %d does not exist in database", "Booking",
                         bookingId)));
-        Long ownerId = booking.getItem().getOwnerId();
-        Long booker = booking.getBooker().getId();
-        if (userId.equals(ownerId) || userId.equals(booker)) {
-            return bookingMapperComplete.modelToDto(booking);
-        } else {
-            throw new WrongOwnerException(String.format("For User with id = %d information about Booking with id = %d " +
-                    "is not available, cause that user is not owner or booker", userId, bookingId));
+        checkIsOwnerOrBooker(userId, booking);
+        return bookingMapperComplete.modelToDto(booking);
+    }
+
+    public List<BookingBatchResult> findAllById(Long userId, List<Long> bookingIds) {
+        Map<Long, Booking> bookings = bookingRepository.findAllByIdIn(new HashSet<>(bookingIds)).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+        List<BookingBatchResult> results = new ArrayList<>(bookingIds.size());
+        for (Long bookingId : bookingIds) {
+            Booking booking = bookings.get(bookingId);
+            if (booking == null) {
+                results.add(new BookingBatchResult(null, String.format("%s with id = %d does not exist in database",
+                        "Booking", bookingId)));
+                continue;
+            }
+            try {
+                checkIsOwnerOrBooker(userId, booking);
+                results.add(new BookingBatchResult(bookingMapperComplete.modelToDto(booking), null));
+            } catch (WrongOwnerException e) {
+                results.add(new BookingBatchResult(null, e.getMessage()));
+            }
         }
+        return results;
     }
 
     public Collection<BookingDtoComplete> findAllUsersBookingsByState(Long bookerId, State state, Pageable pageRequest)
@@ -111,26 +253,26 @@ public class BookingServiceImpl implements BookingService {
 
         switch (state) {
             case PAST:
-                return bookingRepository.findAllByBookerIdAndEndBeforeOrderByStartDesc(bookerId, now, pageRequest)
+                return bookingRepository.findAllByBookerIdAndEndBeforeOrderByStartDescIdDesc(bookerId, now, pageRequest)
                         .stream().map(bookingMapperComplete::modelToDto).collect(Collectors.toList());
             case CURRENT:
-                return bookingRepository.findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(bookerId, now,
+                return bookingRepository.findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDescIdDesc(bookerId, now,
                                 now, pageRequest)
                         .stream().map(bookingMapperComplete::modelToDto).collect(Collectors.toList());
             case FUTURE:
-                return bookingRepository.findAllByBookerIdAndStartAfterAndStatusNotOrderByStartDesc(bookerId, now,
+                return bookingRepository.findAllByBookerIdAndStartAfterAndStatusNotOrderByStartDescIdDesc(bookerId, now,
                                 Status.REJECTED, pageRequest)
                         .stream().map(bookingMapperComplete::modelToDto).collect(Collectors.toList());
             case WAITING:
-                return bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(bookerId, Status.WAITING,
+                return bookingRepository.findAllByBookerIdAndStatusOrderByStartDescIdDesc(bookerId, Status.WAITING,
                                 pageRequest)
                         .stream().map(bookingMapperComplete::modelToDto).collect(Collectors.toList());
             case REJECTED:
-                return bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(bookerId, Status.REJECTED,
+                return bookingRepository.findAllByBookerIdAndStatusOrderByStartDescIdDesc(bookerId, Status.REJECTED,
                                 pageRequest)
                         .stream().map(bookingMapperComplete::modelToDto).collect(Collectors.toList());
             case ALL:
-                return bookingRepository.findAllByBookerIdOrderByStartDesc(bookerId, pageRequest)
+                return bookingRepository.findAllByBookerIdOrderByStartDescIdDesc(bookerId, pageRequest)
                         .stream().map(bookingMapperComplete::modelToDto).collect(Collectors.toList());
             default:
                 return null;
@@ -146,26 +288,27 @@ public class BookingServiceImpl implements BookingService {
 
         switch (state) {
             case PAST:
-                return bookingRepository.findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(ownerId, now, pageRequest)
+                return bookingRepository.findAllByItemOwnerIdAndEndBeforeOrderByStartDescIdDesc(ownerId, now,
+                                pageRequest)
                         .stream().map(bookingMapperComplete::modelToDto).collect(Collectors.toList());
             case CURRENT:
-                return bookingRepository.findAllByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(ownerId,
+                return bookingRepository.findAllByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDescIdDesc(ownerId,
                                 now, now, pageRequest)
                         .stream().map(bookingMapperComplete::modelToDto).collect(Collectors.toList());
             case FUTURE:
-                return bookingRepository.findAllByItemOwnerIdAndStartAfterAndStatusNotOrderByStartDesc(ownerId,
+                return bookingRepository.findAllByItemOwnerIdAndStartAfterAndStatusNotOrderByStartDescIdDesc(ownerId,
                                 now, Status.REJECTED, pageRequest)
                         .stream().map(bookingMapperComplete::modelToDto).collect(Collectors.toList());
             case WAITING:
-                return bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDesc(ownerId, Status.WAITING,
+                return bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDescIdDesc(ownerId, Status.WAITING,
                                 pageRequest)
                         .stream().map(bookingMapperComplete::modelToDto).collect(Collectors.toList());
             case REJECTED:
-                return bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDesc(ownerId, Status.REJECTED,
+                return bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDescIdDesc(ownerId, Status.REJECTED,
                                 pageRequest)
                         .stream().map(bookingMapperComplete::modelToDto).collect(Collectors.toList());
             case ALL:
-                return bookingRepository.findAllByItemOwnerIdOrderByStartDesc(ownerId, pageRequest)
+                return bookingRepository.findAllByItemOwnerIdOrderByStartDescIdDesc(ownerId, pageRequest)
                         .stream().map(bookingMapperComplete::modelToDto).collect(Collectors.toList());
             default:
                 return null;
@@ -173,6 +316,207 @@ public class BookingServiceImpl implements BookingService {
         }
     }
 
+    public List<BookingDtoComplete> findAllUsersBookingsByState(Long bookerId, State state, PageCursor after, int size)
+            throws EntityNotFoundException {
+        checkIsUserExistInDataBase(bookerId);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime start = after.getStart();
+        Long id = after.getId();
+        Pageable pageRequest = PageRequest.of(0, size);
+        List<Booking> bookings;
+
+        switch (state) {
+            case PAST:
+                bookings = bookingRepository.findPastByBookerIdAfterCursor(bookerId, now, start, id, pageRequest);
+                break;
+            case CURRENT:
+                bookings = bookingRepository.findCurrentByBookerIdAfterCursor(bookerId, now, start, id, pageRequest);
+                break;
+            case FUTURE:
+                bookings = bookingRepository.findFutureByBookerIdAfterCursor(bookerId, now, Status.REJECTED, start, id,
+                        pageRequest);
+                break;
+            case WAITING:
+                bookings = bookingRepository.findAllByBookerIdAndStatusAfterCursor(bookerId, Status.WAITING, start, id,
+                        pageRequest);
+                break;
+            case REJECTED:
+                bookings = bookingRepository.findAllByBookerIdAndStatusAfterCursor(bookerId, Status.REJECTED, start, id,
+                        pageRequest);
+                break;
+            default:
+                bookings = bookingRepository.findAllByBookerIdAfterCursor(bookerId, start, id, pageRequest);
+        }
+        return bookings.stream().map(bookingMapperComplete::modelToDto).collect(Collectors.toList());
+    }
+
+    public List<BookingDtoComplete> findAllOwnersBookingsByState(Long ownerId, State state, PageCursor after, int size)
+            throws EntityNotFoundException {
+        checkIsUserExistInDataBase(ownerId);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime start = after.getStart();
+        Long id = after.getId();
+        Pageable pageRequest = PageRequest.of(0, size);
+        List<Booking> bookings;
+
+        switch (state) {
+            case PAST:
+                bookings = bookingRepository.findPastByItemOwnerIdAfterCursor(ownerId, now, start, id, pageRequest);
+                break;
+            case CURRENT:
+                bookings = bookingRepository.findCurrentByItemOwnerIdAfterCursor(ownerId, now, start, id, pageRequest);
+                break;
+            case FUTURE:
+                bookings = bookingRepository.findFutureByItemOwnerIdAfterCursor(ownerId, now, Status.REJECTED, start,
+                        id, pageRequest);
+                break;
+            case WAITING:
+                bookings = bookingRepository.findAllByItemOwnerIdAndStatusAfterCursor(ownerId, Status.WAITING, start,
+                        id, pageRequest);
+                break;
+            case REJECTED:
+                bookings = bookingRepository.findAllByItemOwnerIdAndStatusAfterCursor(ownerId, Status.REJECTED, start,
+                        id, pageRequest);
+                break;
+            default:
+                bookings = bookingRepository.findAllByItemOwnerIdAfterCursor(ownerId, start, id, pageRequest);
+        }
+        return bookings.stream().map(bookingMapperComplete::modelToDto).collect(Collectors.toList());
+    }
+
+    public List<BookingDtoCompact> findAllUsersBookingsCompact(Long bookerId, State state, Pageable pageRequest)
+            throws EntityNotFoundException {
+        checkIsUserExistInDataBase(bookerId);
+        StateWindow window = StateWindow.of(state, LocalDateTime.now());
+        return bookingRepository.findCompactByBookerId(bookerId, window.getStartAfter(), window.getStartBefore(),
+                window.getEndAfter(), window.getEndBefore(), window.getStatuses(), pageRequest);
+    }
+
+    public List<BookingDtoCompact> findAllOwnersBookingsCompact(Long ownerId, State state, Pageable pageRequest)
+            throws EntityNotFoundException {
+        checkIsUserExistInDataBase(ownerId);
+        StateWindow window = StateWindow.of(state, LocalDateTime.now());
+        return bookingRepository.findCompactByItemOwnerId(ownerId, window.getStartAfter(), window.getStartBefore(),
+                window.getEndAfter(), window.getEndBefore(), window.getStatuses(), pageRequest);
+    }
+
+    public List<BookingDtoCompact> findAllUsersBookingsCompact(Long bookerId, State state, PageCursor after, int size)
+            throws EntityNotFoundException {
+        checkIsUserExistInDataBase(bookerId);
+        StateWindow window = StateWindow.of(state, LocalDateTime.now());
+        return bookingRepository.findCompactByBookerIdAfterCursor(bookerId, window.getStartAfter(),
+                window.getStartBefore(), window.getEndAfter(), window.getEndBefore(), window.getStatuses(),
+                after.getStart(), after.getId(), PageRequest.of(0, size));
+    }
+
+    public List<BookingDtoCompact> findAllOwnersBookingsCompact(Long ownerId, State state, PageCursor after, int size)
+            throws EntityNotFoundException {
+        checkIsUserExistInDataBase(ownerId);
+        StateWindow window = StateWindow.of(state, LocalDateTime.now());
+        return bookingRepository.findCompactByItemOwnerIdAfterCursor(ownerId, window.getStartAfter(),
+                window.getStartBefore(), window.getEndAfter(), window.getEndBefore(), window.getStatuses(),
+                after.getStart(), after.getId(), PageRequest.of(0, size));
+    }
+
+    private Map<Integer, Booking> rejectOverlapping(Map<Integer, Booking> candidates, BookingBatchResult[] results) {
+        Map<Integer, Booking> accepted = new LinkedHashMap<>();
+        if (candidates.isEmpty()) {
+            return accepted;
+        }
+        Set<Long> itemIds = candidates.values().stream().map(booking -> booking.getItem().getId())
+                .collect(Collectors.toSet());
+        LocalDateTime start = candidates.values().stream().map(Booking::getStart).min(Comparator.naturalOrder())
+                .orElseThrow();
+        LocalDateTime end = candidates.values().stream().map(Booking::getEnd).max(Comparator.naturalOrder())
+                .orElseThrow();
+        List<Booking> booked = new ArrayList<>(bookingRepository.findOverlapping(itemIds, start, end,
+                ACTIVE_STATUSES));
+        candidates.forEach((i, booking) -> {
+            if (booked.stream().anyMatch(other -> overlaps(booking, other))) {
+                results[i] = new BookingBatchResult(null, itemAlreadyBooked(booking).getMessage());
+            } else {
+                booked.add(booking);
+                accepted.put(i, booking);
+            }
+        });
+        return accepted;
+    }
+
+    private BookingBatchResult saveOne(Booking booking) {
+        // the rolled back batch has already assigned these
+        booking.setId(null);
+        booking.setVersion(null);
+        try {
+            saveWithSummary(booking);
+            return new BookingBatchResult(bookingMapperComplete.modelToDto(booking), null);
+        } catch (DataIntegrityViolationException e) {
+            if (isOverlapViolation(e)) {
+                return new BookingBatchResult(null, itemAlreadyBooked(booking).getMessage());
+            }
+            throw e;
+        }
+    }
+
+    private void saveWithSummary(Booking booking) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            bookingRepository.saveAndFlush(booking);
+            itemSummaryService.refresh(booking.getItem().getId());
+        });
+    }
+
+    private boolean updateStatusWithSummary(Booking booking, Status status) {
+        Boolean updated = new TransactionTemplate(transactionManager).execute(transaction -> {
+            if (bookingRepository.updateStatus(booking.getId(), Status.WAITING, status) == 0) {
+                return false;
+            }
+            itemSummaryService.refresh(booking.getItem().getId());
+            return true;
+        });
+        return Boolean.TRUE.equals(updated);
+    }
+
+    private static boolean overlaps(Booking booking, Booking other) {
+        return Objects.equals(booking.getItem().getId(), other.getItem().getId())
+                && booking.getStart().isBefore(other.getEnd()) && booking.getEnd().isAfter(other.getStart());
+    }
+
+    private static boolean isOverlapViolation(DataIntegrityViolationException e) {
+        return String.valueOf(e.getMostSpecificCause().getMessage()).contains("bookings_no_overlap");
+    }
+
+    private static ItemAlreadyBooked itemAlreadyBooked(Booking booking) {
+        return new ItemAlreadyBooked(String.format("Item with id = %d is already booked from %s to %s",
+                booking.getItem().getId(), booking.getStart(), booking.getEnd()));
+    }
+
+    private static void checkIsItemBookable(Long bookerId, Item item) throws BookerAndOwnerAreSameUser,
+            ItemNotAvailableException {
+        if (Objects.equals(bookerId, item.getOwnerId())) {
+            throw new BookerAndOwnerAreSameUser("You cant rent your own Item");
+        }
+        if (!item.getAvailable()) {
+            throw new ItemNotAvailableException(String.format("Item with id = %d is not available for booking",
+                    item.getId()));
+        }
+    }
+
+    private static void checkIsOwnerOrBooker(Long userId, Booking booking) throws WrongOwnerException {
+        Long ownerId = booking.getItem().getOwnerId();
+        Long booker = booking.getBooker().getId();
+        if (!userId.equals(ownerId) && !userId.equals(booker)) {
+            throw new WrongOwnerException(String.format("For User with id = %d information about Booking with id = %d " +
+                    "is not available, cause that user is not owner or booker", userId, booking.getId()));
+        }
+    }
+
+    private static ReentrantLock[] createItemLocks(int stripes) {
+        ReentrantLock[] locks = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        return locks;
+    }
+
     private boolean checkIsUserExistInDataBase(Long userId) throws EntityNotFoundException {
         if (!userRepository.existsById(userId)) {
             throw new EntityNotFoundException(String.format("%s with id = %d does not exist in database",
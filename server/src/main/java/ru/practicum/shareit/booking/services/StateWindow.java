@@ -0,0 +1,40 @@
+package ru.practicum.shareit.booking.services;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.booking.model.Status;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+@Getter
+@RequiredArgsConstructor
+class StateWindow {
+    private static final LocalDateTime MIN = LocalDateTime.of(1, 1, 1, 0, 0);
+    private static final LocalDateTime MAX = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    private final LocalDateTime startAfter;
+    private final LocalDateTime startBefore;
+    private final LocalDateTime endAfter;
+    private final LocalDateTime endBefore;
+    private final Set<Status> statuses;
+
+    static StateWindow of(State state, LocalDateTime now) {
+        switch (state) {
+            case PAST:
+                return new StateWindow(MIN, MAX, MIN, now, EnumSet.allOf(Status.class));
+            case CURRENT:
+                return new StateWindow(MIN, now, now, MAX, EnumSet.allOf(Status.class));
+            case FUTURE:
+                return new StateWindow(now, MAX, MIN, MAX, EnumSet.complementOf(EnumSet.of(Status.REJECTED)));
+            case WAITING:
+                return new StateWindow(MIN, MAX, MIN, MAX, EnumSet.of(Status.WAITING));
+            case REJECTED:
+                return new StateWindow(MIN, MAX, MIN, MAX, EnumSet.of(Status.REJECTED));
+            default:
+                return new StateWindow(MIN, MAX, MIN, MAX, EnumSet.allOf(Status.class));
+        }
+    }
+}
@@ -11,8 +11,11 @@ import ru.practicum.shareit.item.dto.ItemOwnerDto;
 import ru.practicum.shareit.item.exceptions.CommentWithoutCompletedBooking;
 import ru.practicum.shareit.item.exceptions.WrongOwnerException;
 import ru.practicum.shareit.item.services.ItemService;
+import ru.practicum.shareit.pagination.IncorrectPageCursor;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.user.exceptions.EntityNotFoundException;
 
+import javax.servlet.http.HttpServletResponse;
 import java.util.List;
 
 @RestController
@@ -20,27 +23,35 @@ import java.util.List;
 @Slf4j
 @RequestMapping("/items")
 public class ItemController {
+    public static final String ITEM_OWNER_HEADER = "X-Item-Owner-Id";
+
     private final ItemService itemService;
     private final String xSharerUserId = "X-Sharer-User-Id";
 
     @PostMapping
     public ItemDto createItem(@RequestHeader(xSharerUserId) Long userId, @RequestBody ItemDto itemDto)
             throws EntityNotFoundException {
-        log.info("POST request for /items received");
+        log.debug("POST request for /items received");
         return itemService.save(userId, itemDto);
     }
 
     @GetMapping("/{itemId}")
-    public ItemOwnerDto findById(@PathVariable Long itemId, @RequestHeader(xSharerUserId) Long userId)
-            throws EntityNotFoundException {
-        log.info(String.format("GET request for /items/%d received", itemId));
-        return itemService.findById(itemId, userId);
+    public ItemOwnerDto findById(@PathVariable Long itemId,
+                                 @RequestHeader(value = xSharerUserId, required = false) Long userId,
+                                 HttpServletResponse response) throws EntityNotFoundException {
+        log.debug("GET request for /items/{} received", itemId);
+        ItemOwnerDto item = itemService.findById(itemId, userId);
+        // without a user only the owner sees a different view, the gateway shares this one between everyone else
+        if (item.getOwnerId() != null) {
+            response.setHeader(ITEM_OWNER_HEADER, String.valueOf(item.getOwnerId()));
+        }
+        return item;
     }
 
     @PatchMapping("/{itemId}")
     public ItemDto updateItem(@RequestHeader(xSharerUserId) Long ownerId, @PathVariable Long itemId,
                               @RequestBody ItemDto itemDto) throws WrongOwnerException, EntityNotFoundException {
-        log.info(String.format("PATCH request for /items/%d received from user id = %d", itemId, ownerId));
+        log.debug("PATCH request for /items/{} received from user id = {}", itemId, ownerId);
         return itemService.update(ownerId, itemId, itemDto);
     }
 
@@ -49,16 +60,27 @@ public class ItemController {
                                                @RequestParam(value = "from", defaultValue = "0", required = false)
                                                Integer startingEntry,
                                                @RequestParam(value = "size", defaultValue = "10", required = false)
-                                               Integer size)
-            throws EntityNotFoundException {
+                                               Integer size,
+                                               @RequestParam(value = "after", required = false) String after,
+                                               HttpServletResponse response)
+            throws EntityNotFoundException, IncorrectPageCursor {
+        List<ItemOwnerDto> items;
+        if (after != null) {
+            log.debug("GET request for /items?after={} received from user id = {}", after, ownerId);
+            items = itemService.findAllMyItems(ownerId, decodeCursor(after), size);
+            addNextCursor(response, items, size);
+            return items;
+        }
         Pageable pageable;
         if (size != null && startingEntry != null) {
             pageable = PageRequest.of(startingEntry / size, size);
         } else {
             pageable = Pageable.unpaged();
         }
-        log.info(String.format("GET request for /items received from user id = %d", ownerId));
-        return itemService.findAllMyItems(ownerId, pageable);
+        log.debug("GET request for /items received from user id = {}", ownerId);
+        items = itemService.findAllMyItems(ownerId, pageable);
+        addNextCursor(response, items, size);
+        return items;
     }
 
     @GetMapping("/search")
@@ -73,15 +95,40 @@ public class ItemController {
         } else {
             pageable = Pageable.unpaged();
         }
-        log.info(String.format("GET request for /items received, text for search = %s", text));
+        log.debug("GET request for /items received, text for search = {}", text);
         return itemService.findByNameOrDescription(text.toLowerCase(), pageable);
     }
 
+    @GetMapping("/{itemId}/comments")
+    public List<CommentDto> findComments(@PathVariable Long itemId,
+                                         @RequestParam(value = "from", defaultValue = "0", required = false)
+                                         Integer startingEntry,
+                                         @RequestParam(value = "size", defaultValue = "10", required = false)
+                                         Integer size) throws EntityNotFoundException {
+        log.debug("GET request for /items/{}/comments received", itemId);
+        return itemService.findComments(itemId, PageRequest.of(startingEntry / size, size));
+    }
+
     @PostMapping("/{itemId}/comment")
     public CommentDto saveComment(@RequestHeader(xSharerUserId) Long bookerId, @PathVariable Long itemId,
                                   @RequestBody CommentDto commentDto) throws CommentWithoutCompletedBooking,
             EntityNotFoundException {
-        log.info(String.format("POST request for /items/%d/comment received", itemId));
+        log.debug("POST request for /items/{}/comment received", itemId);
         return itemService.saveComment(bookerId, itemId, commentDto);
     }
+
+    private void addNextCursor(HttpServletResponse response, List<ItemOwnerDto> items, Integer size) {
+        if (size == null || items == null || items.size() < size) {
+            return;
+        }
+        response.setHeader(PageCursor.NEXT_CURSOR_HEADER, PageCursor.of(items.get(items.size() - 1).getId()).encode());
+    }
+
+    private PageCursor decodeCursor(String after) throws IncorrectPageCursor {
+        PageCursor cursor = PageCursor.decode(after);
+        if (cursor.getStart() != null) {
+            throw new IncorrectPageCursor(String.format("Page cursor %s does not point to an item", after));
+        }
+        return cursor;
+    }
 }
\ No newline at end of file
@@ -19,4 +19,6 @@ public interface ItemMapper {
     @Mapping(target = "available", source = "item.available")
     @Mapping(target = "requestId", source = "item.requestId")
     ItemDto modelToDto(Item item);
+
+    Item copy(Item item);
 }
\ No newline at end of file
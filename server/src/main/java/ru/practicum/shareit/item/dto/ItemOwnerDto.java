@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Getter;
 import lombok.Setter;
 import ru.practicum.shareit.booking.dto.BookingDtoForItems;
@@ -17,4 +18,8 @@ public class ItemOwnerDto {
     private BookingDtoForItems lastBooking;
     private BookingDtoForItems nextBooking;
     private Collection<CommentDto> comments;
+    // an item view carries the latest comments only, the rest are paged through /items/{itemId}/comments
+    private Integer commentCount;
+    @JsonIgnore
+    private Long ownerId;
 }
\ No newline at end of file
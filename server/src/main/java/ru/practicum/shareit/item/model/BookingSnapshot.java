@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.model;
+
+import lombok.Getter;
+import lombok.Setter;
+import ru.practicum.shareit.booking.model.Status;
+
+import javax.persistence.Embeddable;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Embeddable
+public class BookingSnapshot {
+    private Long id;
+    private LocalDateTime start;
+    private LocalDateTime end;
+    private Long bookerId;
+    private Status status;
+}
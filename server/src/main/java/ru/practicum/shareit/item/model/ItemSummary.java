@@ -0,0 +1,43 @@
+package ru.practicum.shareit.item.model;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Entity
+@Table(name = "item_summaries")
+public class ItemSummary {
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+    @Embedded
+    @AttributeOverrides({
+            @AttributeOverride(name = "id", column = @Column(name = "last_booking_id")),
+            @AttributeOverride(name = "start", column = @Column(name = "last_booking_start")),
+            @AttributeOverride(name = "end", column = @Column(name = "last_booking_end")),
+            @AttributeOverride(name = "bookerId", column = @Column(name = "last_booker_id")),
+            @AttributeOverride(name = "status", column = @Column(name = "last_booking_status"))
+    })
+    private BookingSnapshot lastBooking;
+    @Embedded
+    @AttributeOverrides({
+            @AttributeOverride(name = "id", column = @Column(name = "next_booking_id")),
+            @AttributeOverride(name = "start", column = @Column(name = "next_booking_start")),
+            @AttributeOverride(name = "end", column = @Column(name = "next_booking_end")),
+            @AttributeOverride(name = "bookerId", column = @Column(name = "next_booker_id")),
+            @AttributeOverride(name = "status", column = @Column(name = "next_booking_status"))
+    })
+    private BookingSnapshot nextBooking;
+    @Column(name = "comment_count", nullable = false)
+    private int commentCount;
+    @Column(name = "latest_comments", columnDefinition = "TEXT")
+    private String latestComments;
+    @Column(name = "valid_until", nullable = false)
+    private LocalDateTime validUntil;
+    @Column(name = "refreshed_at", nullable = false)
+    private LocalDateTime refreshedAt;
+}
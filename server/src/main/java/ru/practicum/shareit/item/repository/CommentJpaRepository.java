@@ -1,14 +1,24 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.item.model.Comment;
 
 import java.util.Collection;
+import java.util.List;
 
 @Repository
 public interface CommentJpaRepository extends JpaRepository<Comment, Long> {
-    Collection<Comment> findAllByItemIdOrderByIdAsc(Long itemId);
+    @EntityGraph(attributePaths = {"author"})
+    List<Comment> findAllByItemIdOrderByIdAsc(Long itemId, Pageable pageable);
 
-    Collection<Comment> findAllByItemOwnerIdOrderByIdAsc(Long ownerId);
+    @EntityGraph(attributePaths = {"author"})
+    List<Comment> findAllByItemIdOrderByIdDesc(Long itemId, Pageable pageable);
+
+    long countByItemId(Long itemId);
+
+    @EntityGraph(attributePaths = {"author"})
+    Collection<Comment> findAllByItemIdInOrderByIdAsc(Collection<Long> itemIds);
 }
\ No newline at end of file
@@ -1,20 +1,52 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.QueryHint;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ItemJpaRepository extends JpaRepository<Item, Long> {
+    String ITEMS_CACHE = "items";
+
+    @Override
+    @Cacheable(cacheNames = ITEMS_CACHE, unless = "#result == null")
+    Optional<Item> findById(Long id);
+
     List<Item> findByOwnerIdOrderByIdAsc(Long ownerId, Pageable pageRequest);
 
+    List<Item> findByOwnerIdAndIdGreaterThanOrderByIdAsc(Long ownerId, Long afterId, Pageable pageRequest);
+
     List<Item> findByNameOrDescriptionContainsIgnoreCaseAndAvailable(String keyWordForName, String keyWordForDescription,
                                                                      boolean isAvailable, Pageable pageRequest);
 
+    @Query("select i from Item i where i.available = true " +
+            "and (lower(i.name) like concat('%', :pattern, '%') escape '\\' " +
+            "or lower(i.description) like concat('%', :pattern, '%') escape '\\') " +
+            "order by case when lower(i.name) like concat('%', :pattern, '%') escape '\\' then 0 else 1 end, i.id")
+    List<Item> searchAvailable(@Param("pattern") String pattern, Pageable pageRequest);
+
+    @Query(value = "SELECT i.* FROM items i WHERE i.available = true " +
+            "AND (lower(i.item_name) LIKE CONCAT('%', :pattern, '%') ESCAPE '\\' " +
+            "OR lower(i.description) LIKE CONCAT('%', :pattern, '%') ESCAPE '\\') " +
+            "ORDER BY GREATEST(similarity(lower(i.item_name), :text), similarity(lower(i.description), :text)) DESC, " +
+            "i.item_id", nativeQuery = true)
+    List<Item> searchAvailableByTrigrams(@Param("text") String text, @Param("pattern") String pattern,
+                                         Pageable pageRequest);
+
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<Item> streamAllByOrderByIdAsc();
+
     List<Item> findByRequestIdOrderByIdAsc(Long requestId);
 
-    List<Item> findByRequestIdIn(List<Long> idList);
+    List<Item> findByRequestIdInOrderByIdAsc(List<Long> idList);
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.item.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.item.model.ItemSummary;
+
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ItemSummaryJpaRepository extends JpaRepository<ItemSummary, Long> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from ItemSummary s where s.itemId = :itemId")
+    Optional<ItemSummary> findForUpdate(@Param("itemId") Long itemId);
+
+    @Query("select s.itemId from ItemSummary s where s.validUntil <= :now order by s.validUntil")
+    List<Long> findStaleItemIds(@Param("now") LocalDateTime now, Pageable pageRequest);
+}
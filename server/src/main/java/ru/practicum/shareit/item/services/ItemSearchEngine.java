@@ -0,0 +1,21 @@
+package ru.practicum.shareit.item.services;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+public interface ItemSearchEngine {
+    List<Item> search(String text, Pageable pageable);
+
+    default void onItemSaved(Item item) {
+    }
+
+    // user input is matched literally, the repository queries declare '\' as their LIKE escape character
+    static String likeEscaped(String text) {
+        return text.toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
@@ -0,0 +1,277 @@
+package ru.practicum.shareit.item.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemJpaRepository;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManager;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "index")
+public class ItemSearchIndex implements ItemSearchEngine {
+    private static final int GRAM_LENGTH = 3;
+
+    private final ItemJpaRepository itemRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final EntityManager entityManager;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<Long, Document> documents = new HashMap<>();
+    private Map<String, Postings> postings = new HashMap<>();
+
+    @PostConstruct
+    public void rebuild() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Item> items = itemRepository.streamAllByOrderByIdAsc()) {
+                rebuild(items.peek(entityManager::detach));
+            }
+        });
+    }
+
+    void rebuild(Stream<Item> items) {
+        Map<Long, Document> newDocuments = new HashMap<>();
+        Map<String, Postings> newPostings = new HashMap<>();
+        items.forEach(item -> add(new Document(item), newDocuments, newPostings));
+
+        lock.writeLock().lock();
+        try {
+            documents = newDocuments;
+            postings = newPostings;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Item search index rebuilt, {} items indexed", newDocuments.size());
+    }
+
+    @Override
+    public void onItemSaved(Item item) {
+        Document document = new Document(item);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    put(document);
+                }
+            });
+        } else {
+            put(document);
+        }
+    }
+
+    @Override
+    public List<Item> search(String text, Pageable pageable) {
+        String query = text.toLowerCase();
+        List<Hit> hits = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            if (query.length() < GRAM_LENGTH) {
+                documents.values().forEach(document -> collect(document, query, hits));
+            } else {
+                for (long id : candidates(query)) {
+                    collect(documents.get(id), query, hits);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        hits.sort(Comparator.comparingInt((Hit hit) -> hit.score).reversed()
+                .thenComparingLong(hit -> hit.document.id));
+
+        int from = pageable.isPaged() ? (int) Math.min(pageable.getOffset(), hits.size()) : 0;
+        int to = pageable.isPaged() ? Math.min(from + pageable.getPageSize(), hits.size()) : hits.size();
+        return hits.subList(from, to).stream().map(hit -> hit.document.toItem()).collect(Collectors.toList());
+    }
+
+    private void put(Document document) {
+        lock.writeLock().lock();
+        try {
+            Document previous = documents.get(document.id);
+            if (previous != null) {
+                for (String gram : previous.grams()) {
+                    Postings ids = postings.get(gram);
+                    ids.remove(document.id);
+                    if (ids.size == 0) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+            add(document, documents, postings);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void add(Document document, Map<Long, Document> documents, Map<String, Postings> postings) {
+        documents.put(document.id, document);
+        for (String gram : document.grams()) {
+            postings.computeIfAbsent(gram, key -> new Postings()).add(document.id);
+        }
+    }
+
+    private static void collect(Document document, String query, List<Hit> hits) {
+        if (!document.available) {
+            return;
+        }
+        int score = document.score(query);
+        if (score > 0) {
+            hits.add(new Hit(document, score));
+        }
+    }
+
+    private long[] candidates(String query) {
+        List<Postings> lists = new ArrayList<>();
+        for (String gram : grams(query)) {
+            Postings ids = postings.get(gram);
+            if (ids == null) {
+                return new long[0];
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(ids -> ids.size));
+        long[] result = Arrays.copyOf(lists.get(0).ids, lists.get(0).size);
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            result = lists.get(i).intersect(result);
+        }
+        return result;
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static class Postings {
+        private long[] ids = new long[4];
+        private int size;
+
+        private void add(long id) {
+            if (size > 0 && ids[size - 1] < id) {
+                ensureCapacity();
+                ids[size++] = id;
+                return;
+            }
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                return;
+            }
+            position = -position - 1;
+            ensureCapacity();
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            ids[position] = id;
+            size++;
+        }
+
+        private void remove(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+                size--;
+            }
+        }
+
+        private long[] intersect(long[] sorted) {
+            long[] result = new long[Math.min(sorted.length, size)];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < sorted.length && j < size) {
+                if (sorted[i] < ids[j]) {
+                    i++;
+                } else if (sorted[i] > ids[j]) {
+                    j++;
+                } else {
+                    result[count++] = sorted[i];
+                    i++;
+                    j++;
+                }
+            }
+            return Arrays.copyOf(result, count);
+        }
+
+        private void ensureCapacity() {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+        }
+    }
+
+    private static class Document {
+        private final long id;
+        private final String name;
+        private final String description;
+        private final boolean available;
+        private final Long ownerId;
+        private final Long requestId;
+        private final String lowerName;
+        private final String lowerDescription;
+
+        private Document(Item item) {
+            this.id = item.getId();
+            this.name = item.getName();
+            this.description = item.getDescription();
+            this.available = Boolean.TRUE.equals(item.getAvailable());
+            this.ownerId = item.getOwnerId();
+            this.requestId = item.getRequestId();
+            this.lowerName = name == null ? "" : name.toLowerCase();
+            this.lowerDescription = description == null ? "" : description.toLowerCase();
+        }
+
+        private int score(String query) {
+            int score = 0;
+            if (lowerName.contains(query)) {
+                score += lowerName.startsWith(query) ? 3 : 2;
+            }
+            if (lowerDescription.contains(query)) {
+                score += 1;
+            }
+            return score;
+        }
+
+        private Set<String> grams() {
+            Set<String> grams = ItemSearchIndex.grams(lowerName);
+            grams.addAll(ItemSearchIndex.grams(lowerDescription));
+            return grams;
+        }
+
+        private Item toItem() {
+            Item item = new Item();
+            item.setId(id);
+            item.setName(name);
+            item.setDescription(description);
+            item.setAvailable(available);
+            item.setOwnerId(ownerId);
+            item.setRequestId(requestId);
+            return item;
+        }
+    }
+
+    private static class Hit {
+        private final Document document;
+        private final int score;
+
+        private Hit(Document document, int score) {
+            this.document = document;
+            this.score = score;
+        }
+    }
+}
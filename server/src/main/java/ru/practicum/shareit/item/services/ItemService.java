@@ -6,6 +6,7 @@ import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemOwnerDto;
 import ru.practicum.shareit.item.exceptions.CommentWithoutCompletedBooking;
 import ru.practicum.shareit.item.exceptions.WrongOwnerException;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.user.exceptions.EntityNotFoundException;
 
 import java.util.List;
@@ -19,6 +20,10 @@ public interface ItemService {
 
     List<ItemOwnerDto> findAllMyItems(Long ownerId, Pageable pageable) throws EntityNotFoundException;
 
+    List<ItemOwnerDto> findAllMyItems(Long ownerId, PageCursor after, int size) throws EntityNotFoundException;
+
+    List<CommentDto> findComments(Long itemId, Pageable pageable) throws EntityNotFoundException;
+
     List<ItemDto> findByNameOrDescription(String text, Pageable pageable);
 
     CommentDto saveComment(Long bookerId, Long itemId, CommentDto commentDto) throws EntityNotFoundException,
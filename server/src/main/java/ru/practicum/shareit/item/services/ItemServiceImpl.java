@@ -2,8 +2,13 @@ package ru.practicum.shareit.item.services;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import ru.practicum.shareit.booking.dto.BookingMapperForItems;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
@@ -13,8 +18,10 @@ import ru.practicum.shareit.item.exceptions.CommentWithoutCompletedBooking;
 import ru.practicum.shareit.item.exceptions.WrongOwnerException;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemSummary;
 import ru.practicum.shareit.item.repository.CommentJpaRepository;
 import ru.practicum.shareit.item.repository.ItemJpaRepository;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.user.exceptions.EntityNotFoundException;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserJpaRepository;
@@ -22,8 +29,9 @@ import ru.practicum.shareit.user.services.UserService;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -39,14 +47,21 @@ public class ItemServiceImpl implements ItemService {
     private final ItemOwnerDtoMapper itemOwnerMapper;
     private final BookingMapperForItems bookingMapperForItems;
     private final CommentDtoMapper commentMapper;
+    private final ItemSearchEngine itemSearchEngine;
+    private final ItemSummaryService itemSummaryService;
+    private final PlatformTransactionManager transactionManager;
 
     @Override
     public ItemDto save(Long ownerId, ItemDto itemDto) throws EntityNotFoundException {
         checkIsUserExistInDataBase(ownerId);
         Item item = itemMapper.dtoToModel(itemDto);
         item.setOwnerId(ownerId);
-        itemRepository.save(item);
-        log.debug(String.format("Item with id = %d saved", item.getId()));
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            itemRepository.saveAndFlush(item);
+            itemSummaryService.create(item.getId());
+        });
+        itemSearchEngine.onItemSaved(item);
+        log.debug("Item with id = {} saved", item.getId());
         return itemMapper.modelToDto(item);
     }
 
@@ -54,46 +69,30 @@ public class ItemServiceImpl implements ItemService {
     public ItemOwnerDto findById(Long id, Long userId) throws EntityNotFoundException {
         Item item = itemRepository.findById(id).orElseThrow(() ->
                 new EntityNotFoundException(String.format("%s with id = %d does not exist in database", "Item", id)));
-        log.debug(String.format("Item with id = %d founded", id));
-        Collection<CommentDto> comments = commentRepository.findAllByItemIdOrderByIdAsc(id).stream()
-                .map(commentMapper::modelToDto)
-                .collect(Collectors.toList());
-
-        if (!item.getOwnerId().equals(userId)) {
-            ItemOwnerDto itemOwnerDto = itemOwnerMapper.modelToDto(item);
-            itemOwnerDto.setComments(comments);
-            return itemOwnerDto;
-        }
-
-        Collection<Booking> bookingList = bookingRepository.findAllByItemIdOrderByStartDesc(id);
+        log.debug("Item with id = {} founded", id);
+        ItemSummary summary = itemSummaryService.findById(id);
         ItemOwnerDto itemOwnerDto = itemOwnerMapper.modelToDto(item);
-        LocalDateTime now = LocalDateTime.now();
-
-        Booking lastBooking = null;
-        Booking nextBooking = null;
+        itemOwnerDto.setComments(itemSummaryService.comments(summary));
+        itemOwnerDto.setCommentCount(summary.getCommentCount());
 
-        for (Booking booking : bookingList) {
-            LocalDateTime startDate = booking.getStart();
-            if (startDate.isBefore(now) && (lastBooking == null || startDate.isAfter(lastBooking.getStart()))) {
-                lastBooking = booking;
-            }
-            if (startDate.isAfter(now) && (nextBooking == null || startDate.isBefore(nextBooking.getStart()))
-                    && !booking.getStatus().equals(Status.REJECTED)) {
-                nextBooking = booking;
-            }
+        if (item.getOwnerId().equals(userId)) {
+            itemOwnerDto.setLastBooking(bookingMapperForItems.snapshotToDto(summary.getLastBooking()));
+            itemOwnerDto.setNextBooking(bookingMapperForItems.snapshotToDto(summary.getNextBooking()));
         }
-        itemOwnerDto.setLastBooking(bookingMapperForItems.modelToDto(lastBooking));
-        itemOwnerDto.setNextBooking(bookingMapperForItems.modelToDto(nextBooking));
-        itemOwnerDto.setComments(comments);
         return itemOwnerDto;
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = ItemJpaRepository.ITEMS_CACHE, key = "#itemId", beforeInvocation = true),
+            @CacheEvict(cacheNames = ItemJpaRepository.ITEMS_CACHE, key = "#itemId")
+    })
     public ItemDto update(Long ownerId, Long itemId, ItemDto itemDto) throws
             EntityNotFoundException, WrongOwnerException {
         checkIsUserExistInDataBase(ownerId);
-        Item itemToUpdate = itemRepository.findById(itemId).orElseThrow(() ->
-                new EntityNotFoundException(String.format("%s with id = %d does not exist in database", "Item", itemId)));
+        // the cached instance is shared by all readers, only a copy may be changed
+        Item itemToUpdate = itemMapper.copy(itemRepository.findById(itemId).orElseThrow(() ->
+                new EntityNotFoundException(String.format("%s with id = %d does not exist in database", "Item", itemId))));
 
         if (itemToUpdate.getOwnerId().longValue() == ownerId.longValue()) {
             String updatedName = itemDto.getName();
@@ -110,7 +109,8 @@ public class ItemServiceImpl implements ItemService {
             }
             log.debug("For DTO Entity ID initialized to provide UPDATE operation");
             Item updatedItem = itemRepository.save(itemToUpdate);
-            log.debug(String.format("Item with id = %d updated", itemId));
+            itemSearchEngine.onItemSaved(updatedItem);
+            log.debug("Item with id = {} updated", itemId);
             return itemMapper.modelToDto(updatedItem);
         } else {
             throw new WrongOwnerException(String.format("User id = %d is not owner of Item id = %d", ownerId, itemId));
@@ -126,14 +126,14 @@ public class ItemServiceImpl implements ItemService {
         LocalDateTime now = LocalDateTime.now();
         Comment comment = commentMapper.dtoToModel(commentDto);
 
-        Collection<Long> bookersWithCompletedBooking =
-                bookingRepository.findAllByBookerIdAndEndBeforeOrderByStartDesc(bookerId, now).stream()
-                        .map(booking -> booking.getBooker().getId()).collect(Collectors.toList());
-        if (bookersWithCompletedBooking.contains(bookerId)) {
+        if (bookingRepository.existsByBookerIdAndItemIdAndStatusAndEndBefore(bookerId, itemId, Status.APPROVED, now)) {
             comment.setCreationDate(now);
             comment.setItem(item);
             comment.setAuthor(author);
-            commentRepository.save(comment);
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                commentRepository.saveAndFlush(comment);
+                itemSummaryService.refresh(itemId);
+            });
             return commentMapper.modelToDto(comment);
         } else {
             throw new CommentWithoutCompletedBooking("Comment allowed only for users with completed Booking");
@@ -143,54 +143,63 @@ public class ItemServiceImpl implements ItemService {
     @Override
     public List<ItemOwnerDto> findAllMyItems(Long ownerId, Pageable pageRequest) throws EntityNotFoundException {
         checkIsUserExistInDataBase(ownerId);
-        LocalDateTime now = LocalDateTime.now();
-        Collection<Booking> bookingList = bookingRepository.findAllByItemOwnerIdOrderByStartDesc(ownerId);
-        List<ItemOwnerDto> itemOwnerDtoList;
+        return toItemOwnerDtos(itemRepository.findByOwnerIdOrderByIdAsc(ownerId, pageRequest));
+    }
 
-        itemOwnerDtoList = itemRepository.findByOwnerIdOrderByIdAsc(ownerId, pageRequest).stream()
-                .map(itemOwnerMapper::modelToDto)
-                .collect(Collectors.toList());
+    @Override
+    public List<ItemOwnerDto> findAllMyItems(Long ownerId, PageCursor after, int size) throws EntityNotFoundException {
+        checkIsUserExistInDataBase(ownerId);
+        return toItemOwnerDtos(itemRepository.findByOwnerIdAndIdGreaterThanOrderByIdAsc(ownerId, after.getId(),
+                PageRequest.of(0, size)));
+    }
 
-        Collection<Comment> comments = commentRepository.findAllByItemOwnerIdOrderByIdAsc(ownerId);
-        for (ItemOwnerDto item : itemOwnerDtoList) {
-            Booking lastBooking = null;
-            Booking nextBooking = null;
-            LocalDateTime lastBookingDate = null;
-            LocalDateTime nextBookingDate = null;
-
-            for (Booking booking : bookingList) {
-                if (booking.getItem().getId().equals(item.getId())) {
-                    LocalDateTime startDate = booking.getStart();
-                    if (startDate.isBefore(now) && (lastBookingDate == null || startDate.isAfter(lastBookingDate))) {
-                        lastBookingDate = startDate;
-                        lastBooking = booking;
-                    }
-                    if (startDate.isAfter(now) && (nextBookingDate == null || startDate.isBefore(nextBookingDate))
-                            && !booking.getStatus().equals(Status.REJECTED)) {
-                        nextBookingDate = startDate;
-                        nextBooking = booking;
-                    }
-                }
-            }
-            item.setLastBooking(bookingMapperForItems.modelToDto(lastBooking));
-            item.setNextBooking(bookingMapperForItems.modelToDto(nextBooking));
-            Collection<CommentDto> itemComments = comments.stream()
-                    .filter(comment -> comment.getItem().getId().equals(item.getId()))
-                    .map(commentMapper::modelToDto)
-                    .collect(Collectors.toList());
-            item.setComments(itemComments);
+    private List<ItemOwnerDto> toItemOwnerDtos(List<Item> items) {
+        if (items.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> itemIds = items.stream().map(Item::getId).collect(Collectors.toList());
+        LocalDateTime now = LocalDateTime.now();
+
+        Map<Long, Booking> lastBookings = bookingRepository.findLastBookingsOfItems(itemIds, now).stream()
+                .collect(Collectors.toMap(booking -> booking.getItem().getId(), Function.identity(),
+                        (first, second) -> first));
+        Map<Long, Booking> nextBookings = bookingRepository.findNextBookingsOfItems(itemIds, now, Status.REJECTED)
+                .stream()
+                .collect(Collectors.toMap(booking -> booking.getItem().getId(), Function.identity(),
+                        (first, second) -> first));
+        Map<Long, List<CommentDto>> comments = commentRepository.findAllByItemIdInOrderByIdAsc(itemIds).stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                        Collectors.mapping(commentMapper::modelToDto, Collectors.toList())));
+
+        List<ItemOwnerDto> itemOwnerDtoList = new ArrayList<>(items.size());
+        for (Item item : items) {
+            ItemOwnerDto itemOwnerDto = itemOwnerMapper.modelToDto(item);
+            itemOwnerDto.setLastBooking(bookingMapperForItems.modelToDto(lastBookings.get(item.getId())));
+            itemOwnerDto.setNextBooking(bookingMapperForItems.modelToDto(nextBookings.get(item.getId())));
+            itemOwnerDto.setComments(comments.getOrDefault(item.getId(), new ArrayList<>()));
+            itemOwnerDto.setCommentCount(itemOwnerDto.getComments().size());
+            itemOwnerDtoList.add(itemOwnerDto);
         }
         return itemOwnerDtoList;
     }
 
+    @Override
+    public List<CommentDto> findComments(Long itemId, Pageable pageRequest) throws EntityNotFoundException {
+        if (itemRepository.findById(itemId).isEmpty()) {
+            throw new EntityNotFoundException(String.format("%s with id = %d does not exist in database", "Item", itemId));
+        }
+        return commentRepository.findAllByItemIdOrderByIdAsc(itemId, pageRequest).stream()
+                .map(commentMapper::modelToDto)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public List<ItemDto> findByNameOrDescription(String text, Pageable pageRequest) {
-        boolean isAvailable = true;
         if (text.isEmpty()) {
             return new ArrayList<>();
         }
         List<ItemDto> itemList;
-        itemList = itemRepository.findByNameOrDescriptionContainsIgnoreCaseAndAvailable(text, text, isAvailable, pageRequest)
+        itemList = itemSearchEngine.search(text, pageRequest)
                 .stream()
                 .map(itemMapper::modelToDto)
                 .collect(Collectors.toList());
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.item.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "shareit.item-summary.refresher.enabled", havingValue = "true", matchIfMissing = true)
+public class ItemSummaryRefresher {
+    private static final int BATCH_SIZE = 100;
+
+    private final ItemSummaryService itemSummaryService;
+
+    @Scheduled(initialDelayString = "${shareit.item-summary.refresh-interval:PT1M}",
+            fixedDelayString = "${shareit.item-summary.refresh-interval:PT1M}")
+    public void refreshStale() {
+        int refreshed = 0;
+        int batch;
+        do {
+            batch = itemSummaryService.refreshStale(BATCH_SIZE);
+            refreshed += batch;
+        } while (batch == BATCH_SIZE);
+        if (refreshed > 0) {
+            log.info("{} stale Item summaries refreshed", refreshed);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package ru.practicum.shareit.item.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.BookingMapperForItems;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentDtoMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.ItemSummary;
+import ru.practicum.shareit.item.repository.CommentJpaRepository;
+import ru.practicum.shareit.item.repository.ItemSummaryJpaRepository;
+
+import javax.persistence.EntityManager;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the {@link ItemSummary} read model: the last and next booking and the latest comments of an item.
+ * Writers call {@link #refresh} in the transaction that changed bookings or comments; a summary also goes stale
+ * when its next booking starts, which {@link ItemSummaryRefresher} catches up with. Reads only create a missing
+ * summary and serve a stale one as is.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ItemSummaryService {
+    static final int LATEST_COMMENTS = 10;
+    private static final TypeReference<List<CommentDto>> COMMENT_LIST = new TypeReference<>() {
+    };
+
+    private final ItemSummaryJpaRepository itemSummaryRepository;
+    private final BookingRepository bookingRepository;
+    private final CommentJpaRepository commentRepository;
+    private final BookingMapperForItems bookingMapperForItems;
+    private final CommentDtoMapper commentMapper;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+    private final EntityManager entityManager;
+    @Value("${shareit.item-summary.max-age:PT1H}")
+    private Duration maxAge = Duration.ofHours(1);
+
+    public ItemSummary findById(Long itemId) {
+        ItemSummary summary = itemSummaryRepository.findById(itemId).orElse(null);
+        if (summary == null) {
+            log.debug("Summary of Item with id = {} is missing, refreshing", itemId);
+            return refresh(itemId);
+        }
+        if (!summary.getValidUntil().isAfter(LocalDateTime.now())) {
+            // a read never takes the summary lock, ItemSummaryRefresher catches up with the stale summary
+            log.debug("Summary of Item with id = {} is stale, serving it until refreshed", itemId);
+        }
+        return summary;
+    }
+
+    public ItemSummary create(Long itemId) {
+        LocalDateTime now = LocalDateTime.now();
+        ItemSummary summary = new ItemSummary();
+        summary.setItemId(itemId);
+        summary.setLatestComments(writeComments(new ArrayList<>()));
+        summary.setValidUntil(now.plus(maxAge));
+        summary.setRefreshedAt(now);
+        entityManager.persist(summary);
+        return summary;
+    }
+
+    public ItemSummary refresh(Long itemId) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            ItemSummary summary = itemSummaryRepository.findForUpdate(itemId).orElse(null);
+            if (summary == null) {
+                summary = create(itemId);
+            }
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> itemIds = List.of(itemId);
+            summary.setLastBooking(bookingRepository.findLastBookingsOfItems(itemIds, now).stream()
+                    .findFirst().map(bookingMapperForItems::modelToSnapshot).orElse(null));
+            summary.setNextBooking(bookingRepository.findNextBookingsOfItems(itemIds, now, Status.REJECTED).stream()
+                    .findFirst().map(bookingMapperForItems::modelToSnapshot).orElse(null));
+
+            List<Comment> latest = commentRepository.findAllByItemIdOrderByIdDesc(itemId,
+                    PageRequest.of(0, LATEST_COMMENTS));
+            summary.setCommentCount(latest.size() < LATEST_COMMENTS ? latest.size()
+                    : (int) commentRepository.countByItemId(itemId));
+            List<CommentDto> comments = latest.stream().map(commentMapper::modelToDto).collect(Collectors.toList());
+            Collections.reverse(comments);
+            summary.setLatestComments(writeComments(comments));
+
+            LocalDateTime validUntil = now.plus(maxAge);
+            LocalDateTime nextStart = bookingRepository.findNextStartOfItem(itemId, now);
+            if (nextStart != null && nextStart.isBefore(validUntil)) {
+                validUntil = nextStart;
+            }
+            summary.setValidUntil(validUntil);
+            summary.setRefreshedAt(now);
+            log.debug("Summary of Item with id = {} refreshed", itemId);
+            return itemSummaryRepository.save(summary);
+        });
+    }
+
+    public int refreshStale(int limit) {
+        List<Long> itemIds = itemSummaryRepository.findStaleItemIds(LocalDateTime.now(), PageRequest.of(0, limit));
+        itemIds.forEach(this::refresh);
+        return itemIds.size();
+    }
+
+    // the latest LATEST_COMMENTS comments, older ones are paged through ItemService.findComments
+    public Collection<CommentDto> comments(ItemSummary summary) {
+        try {
+            return objectMapper.readValue(summary.getLatestComments(), COMMENT_LIST);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(String.format("Summary of Item with id = %d has malformed comments",
+                    summary.getItemId()), e);
+        }
+    }
+
+    private String writeComments(List<CommentDto> comments) {
+        try {
+            return objectMapper.writeValueAsString(comments);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Comments can not be written to an Item summary", e);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.item.services;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemJpaRepository;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "trigram")
+public class TrigramItemSearchEngine implements ItemSearchEngine {
+    private final ItemJpaRepository itemRepository;
+
+    @Override
+    public List<Item> search(String text, Pageable pageable) {
+        return itemRepository.searchAvailableByTrigrams(text.toLowerCase(), ItemSearchEngine.likeEscaped(text),
+                pageable);
+    }
+}
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.observability;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@RequiredArgsConstructor
+public class RequestLogFilter extends OncePerRequestFilter {
+    public static final String STATEMENTS_METRIC = "hibernate.statements.per.request";
+
+    private final MeterRegistry meterRegistry;
+    private final double sampleRate;
+    private final Duration slowThreshold;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        StatementCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int statements = StatementCounter.stop();
+            long elapsed = System.nanoTime() - start;
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder(STATEMENTS_METRIC)
+                    .baseUnit("statements")
+                    .tag("method", request.getMethod())
+                    .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                    .register(meterRegistry)
+                    .record(statements);
+            if (log.isInfoEnabled() && shouldLog(response.getStatus(), elapsed)) {
+                log.info("method={} path={} status={} duration_ms={} statements={}", request.getMethod(),
+                        request.getRequestURI(), response.getStatus(), TimeUnit.NANOSECONDS.toMillis(elapsed),
+                        statements);
+            }
+        }
+    }
+
+    // failed and slow requests are always logged, the rest is sampled
+    private boolean shouldLog(int status, long elapsed) {
+        return status >= 500 || elapsed >= slowThreshold.toNanos()
+                || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.observability;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+public class StatementCounter implements StatementInspector {
+    private static final ThreadLocal<int[]> STATEMENTS = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] statements = STATEMENTS.get();
+        if (statements != null) {
+            statements[0]++;
+        }
+        return sql;
+    }
+
+    static void start() {
+        STATEMENTS.set(new int[1]);
+    }
+
+    static int stop() {
+        int[] statements = STATEMENTS.get();
+        STATEMENTS.remove();
+        return statements != null ? statements[0] : 0;
+    }
+}
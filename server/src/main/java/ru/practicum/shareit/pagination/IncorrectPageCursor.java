@@ -0,0 +1,7 @@
+package ru.practicum.shareit.pagination;
+
+public class IncorrectPageCursor extends Exception {
+    public IncorrectPageCursor(String message) {
+        super(message);
+    }
+}
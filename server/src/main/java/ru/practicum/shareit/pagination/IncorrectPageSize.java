@@ -0,0 +1,7 @@
+package ru.practicum.shareit.pagination;
+
+public class IncorrectPageSize extends Exception {
+    public IncorrectPageSize(String message) {
+        super(message);
+    }
+}
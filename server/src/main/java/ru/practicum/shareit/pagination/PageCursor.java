@@ -0,0 +1,50 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+
+@Getter
+public class PageCursor {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime start;
+    private final Long id;
+
+    private PageCursor(LocalDateTime start, Long id) {
+        this.start = start;
+        this.id = id;
+    }
+
+    public static PageCursor of(LocalDateTime start, Long id) {
+        // the database keeps microseconds, a finer cursor would never match the last row of the page
+        return new PageCursor(start.truncatedTo(ChronoUnit.MICROS), id);
+    }
+
+    public static PageCursor of(Long id) {
+        return new PageCursor(null, id);
+    }
+
+    public static PageCursor decode(String token) throws IncorrectPageCursor {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                return of(Long.valueOf(raw));
+            }
+            return of(LocalDateTime.parse(raw.substring(0, separator)), Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IncorrectPageCursor(String.format("Page cursor %s is malformed", token));
+        }
+    }
+
+    public String encode() {
+        String raw = start == null ? String.valueOf(id) : start + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
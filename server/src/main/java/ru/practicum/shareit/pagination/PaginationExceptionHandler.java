@@ -0,0 +1,23 @@
+package ru.practicum.shareit.pagination;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.Map;
+
+@RestControllerAdvice
+public class PaginationExceptionHandler {
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> handleIncorrectPageCursor(final IncorrectPageCursor e) {
+        return Map.of("Incorrect data", e.getMessage());
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> handleIncorrectPageSize(final IncorrectPageSize e) {
+        return Map.of("Incorrect data", e.getMessage());
+    }
+}
@@ -22,38 +22,42 @@ public class ItemRequestController {
     @PostMapping
     public ItemRequestDto createItemRequest(@RequestHeader(xSharerUserId) Long authorId,
                                             @RequestBody ItemRequestDto itemRequestDto) throws EntityNotFoundException {
-        log.info("POST request for /requests received");
+        log.debug("POST request for /requests received");
         return itemRequestService.save(authorId, itemRequestDto);
     }
 
     @GetMapping("/{requestId}")
     public ItemRequestDto findById(@RequestHeader(xSharerUserId) Long askerId, @PathVariable Long requestId)
             throws EntityNotFoundException {
-        log.info(String.format("GET request for /requests/%d received", requestId));
+        log.debug("GET request for /requests/{} received", requestId);
         return itemRequestService.findById(requestId, askerId);
     }
 
     @GetMapping
-    public Collection<ItemRequestDto> findMyItemRequests(@RequestHeader(xSharerUserId) Long authorId)
+    public Collection<ItemRequestDto> findMyItemRequests(@RequestHeader(xSharerUserId) Long authorId,
+                                                         @RequestParam(value = "from", defaultValue = "0", required = false)
+                                                         Integer startingEntry,
+                                                         @RequestParam(value = "size", required = false) Integer size)
             throws EntityNotFoundException {
-        log.info("GET request for /requests from author received");
-        return itemRequestService.findMyItemRequests(authorId);
+        log.debug("GET request for /requests from author received");
+        return itemRequestService.findMyItemRequests(authorId, toPageable(startingEntry, size));
     }
 
     @GetMapping("/all")
-    public Collection<ItemRequestDto> findMyItemRequests(@RequestHeader(xSharerUserId) Long authorId,
-                                                         @RequestParam(value = "from", defaultValue = "0", required = false)
-                                                         Integer startingEntry,
-                                                         @RequestParam(value = "size", defaultValue = "10", required = false)
-                                                         Integer size)
+    public Collection<ItemRequestDto> findTheirItemRequest(@RequestHeader(xSharerUserId) Long authorId,
+                                                           @RequestParam(value = "from", defaultValue = "0", required = false)
+                                                           Integer startingEntry,
+                                                           @RequestParam(value = "size", defaultValue = "10", required = false)
+                                                           Integer size)
             throws EntityNotFoundException {
-        Pageable pageable;
+        log.debug("GET request for /requests/all received");
+        return itemRequestService.findTheirItemRequest(authorId, toPageable(startingEntry, size));
+    }
+
+    private Pageable toPageable(Integer startingEntry, Integer size) {
         if (size != null && startingEntry != null) {
-            pageable = PageRequest.of(startingEntry / size, size);
-        } else {
-            pageable = Pageable.unpaged();
+            return PageRequest.of(startingEntry / size, size);
         }
-        log.info("GET request for /requests/all received");
-        return itemRequestService.findTheirItemRequest(authorId, pageable);
+        return Pageable.unpaged();
     }
 }
\ No newline at end of file
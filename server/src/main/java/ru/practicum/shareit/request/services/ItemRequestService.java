@@ -11,7 +11,7 @@ public interface ItemRequestService {
 
     ItemRequestDto findById(Long requestId, Long askerId) throws EntityNotFoundException;
 
-    Collection<ItemRequestDto> findMyItemRequests(Long authorId) throws EntityNotFoundException;
+    Collection<ItemRequestDto> findMyItemRequests(Long authorId, Pageable pageable) throws EntityNotFoundException;
 
     Collection<ItemRequestDto> findTheirItemRequest(Long authorId, Pageable pageable)
             throws EntityNotFoundException;
@@ -19,6 +19,7 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -40,7 +41,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         LocalDateTime now = LocalDateTime.now();
         itemRequest.setCreated(now);
         repository.save(itemRequest);
-        log.debug(String.format("ItemRequest with id = %d saved", itemRequest.getId()));
+        log.debug("ItemRequest with id = {} saved", itemRequest.getId());
         return mapper.modelToDto(itemRequest);
     }
 
@@ -59,9 +60,11 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     @Override
-    public Collection<ItemRequestDto> findMyItemRequests(Long authorId) throws EntityNotFoundException {
+    public Collection<ItemRequestDto> findMyItemRequests(Long authorId, Pageable pageRequest)
+            throws EntityNotFoundException {
         checkIsUserExistInDataBase(authorId);
-        Collection<ItemRequestDto> myItemRequests = repository.findByAuthorIdOrderByCreatedDesc(authorId).stream()
+        Collection<ItemRequestDto> myItemRequests = repository.findByAuthorIdOrderByCreatedDesc(authorId, pageRequest)
+                .stream()
                 .map(mapper::modelToDto)
                 .collect(Collectors.toList());
         return findAndSetAnswers(myItemRequests);
@@ -85,17 +88,15 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         List<Long> itemRequestsId = itemRequests.stream()
                 .map(ItemRequestDto::getId)
                 .collect(Collectors.toList());
-        List<ItemDto> itemList = itemRepository.findByRequestIdIn(itemRequestsId).stream()
+        if (itemRequestsId.isEmpty()) {
+            return itemRequests;
+        }
+        Map<Long, List<ItemDto>> answersByRequestId = itemRepository.findByRequestIdInOrderByIdAsc(itemRequestsId)
+                .stream()
                 .map(itemMapper::modelToDto)
-                .collect(Collectors.toList());
+                .collect(Collectors.groupingBy(ItemDto::getRequestId));
         for (ItemRequestDto itemRequestDto : itemRequests) {
-            List<ItemDto> requestAnswersList = new ArrayList<>();
-            for (ItemDto itemDto : itemList) {
-                if (itemDto.getRequestId().equals(itemRequestDto.getId())) {
-                    requestAnswersList.add(itemDto);
-                }
-            }
-            itemRequestDto.setItems(requestAnswersList);
+            itemRequestDto.setItems(answersByRequestId.getOrDefault(itemRequestDto.getId(), new ArrayList<>()));
         }
         return itemRequests;
     }
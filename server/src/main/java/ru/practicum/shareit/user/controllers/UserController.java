@@ -1,14 +1,23 @@
 package ru.practicum.shareit.user.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.pagination.IncorrectPageCursor;
+import ru.practicum.shareit.pagination.IncorrectPageSize;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.exceptions.EntityNotFoundException;
 import ru.practicum.shareit.user.exceptions.NotUniqueUserEmail;
 import ru.practicum.shareit.user.services.UserService;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
@@ -17,35 +26,75 @@ import java.util.List;
 @Validated
 @Slf4j
 public class UserController {
+    private static final int DEFAULT_PAGE_SIZE = 100;
+
     private final UserService userService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public UserDto save(@RequestBody UserDto userDto) throws NotUniqueUserEmail {
-        log.info("POST request for /users received");
+        log.debug("POST request for /users received");
         return userService.save(userDto);
     }
 
     @GetMapping("/{id}")
     public UserDto findById(@PathVariable Long id) throws EntityNotFoundException {
-        log.info(String.format("GET request for /users/%d received", id));
+        log.debug("GET request for /users/{} received", id);
         return userService.findById(id);
     }
 
     @PatchMapping("/{id}")
     public UserDto update(@PathVariable Long id, @RequestBody UserDto userDto) throws EntityNotFoundException, NotUniqueUserEmail {
-        log.info(String.format("PATCH request for /users/%d received", id));
+        log.debug("PATCH request for /users/{} received", id);
         return userService.update(userDto, id);
     }
 
     @DeleteMapping("/{id}")
     public void delete(@PathVariable Long id) throws EntityNotFoundException {
-        log.info(String.format("DELETE request for /users/%d received", id));
+        log.debug("DELETE request for /users/{} received", id);
         userService.deleteById(id);
     }
 
     @GetMapping
-    public List<UserDto> findAll() {
-        log.info("GET request for /users received");
-        return userService.findAll();
+    public List<UserDto> findAll(@RequestParam(value = "size", required = false) Integer size,
+                                 @RequestParam(value = "after", required = false) String after,
+                                 HttpServletResponse response) throws IncorrectPageCursor, IncorrectPageSize {
+        log.debug("GET request for /users received");
+        if (size == null && after == null) {
+            return userService.findAll();
+        }
+        int pageSize = size != null ? size : DEFAULT_PAGE_SIZE;
+        if (pageSize <= 0) {
+            throw new IncorrectPageSize(String.format("Page size %d is not positive", pageSize));
+        }
+        List<UserDto> users = userService.findAll(after != null ? decodeCursor(after) : PageCursor.of(0L), pageSize);
+        if (users.size() == pageSize) {
+            response.setHeader(PageCursor.NEXT_CURSOR_HEADER,
+                    PageCursor.of(users.get(pageSize - 1).getId()).encode());
+        }
+        return users;
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void export(HttpServletResponse response) throws IOException {
+        log.debug("GET request for /users/export received");
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream out = response.getOutputStream();
+        userService.exportAll(user -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(user));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private PageCursor decodeCursor(String after) throws IncorrectPageCursor {
+        PageCursor cursor = PageCursor.decode(after);
+        if (cursor.getStart() != null) {
+            throw new IncorrectPageCursor(String.format("Page cursor %s does not point to a user", after));
+        }
+        return cursor;
     }
 }
\ No newline at end of file
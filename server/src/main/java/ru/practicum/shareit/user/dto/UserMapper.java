@@ -15,4 +15,6 @@ public interface UserMapper {
     @Mapping(target = "name", source = "user.name")
     @Mapping(target = "email", source = "user.email")
     UserDto modelToDto(User user);
+
+    User copy(User user);
 }
\ No newline at end of file
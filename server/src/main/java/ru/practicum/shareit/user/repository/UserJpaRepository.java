@@ -1,10 +1,34 @@
 package ru.practicum.shareit.user.repository;
 
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.QueryHint;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
 public interface UserJpaRepository extends JpaRepository<User, Long> {
+    String USERS_CACHE = "users";
+    String USER_EXISTS_CACHE = "userExists";
+
     User findByEmail(String email);
+
+    List<User> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageRequest);
+
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<User> streamAllByOrderByIdAsc();
+
+    @Override
+    @Cacheable(cacheNames = USERS_CACHE, unless = "#result == null")
+    Optional<User> findById(Long id);
+
+    @Override
+    @Cacheable(cacheNames = USER_EXISTS_CACHE, unless = "!#result")
+    boolean existsById(Long id);
 }
\ No newline at end of file
@@ -1,10 +1,12 @@
 package ru.practicum.shareit.user.services;
 
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.exceptions.EntityNotFoundException;
 import ru.practicum.shareit.user.exceptions.NotUniqueUserEmail;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface UserService {
     UserDto save(UserDto userDto) throws NotUniqueUserEmail;
@@ -16,4 +18,8 @@ public interface UserService {
     void deleteById(Long id) throws EntityNotFoundException;
 
     List<UserDto> findAll();
+
+    List<UserDto> findAll(PageCursor after, int size);
+
+    void exportAll(Consumer<UserDto> consumer);
 }
\ No newline at end of file
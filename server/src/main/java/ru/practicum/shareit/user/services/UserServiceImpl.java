@@ -2,7 +2,13 @@ package ru.practicum.shareit.user.services;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.exceptions.EntityNotFoundException;
@@ -10,9 +16,12 @@ import ru.practicum.shareit.user.exceptions.NotUniqueUserEmail;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserJpaRepository;
 
+import javax.persistence.EntityManager;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -20,12 +29,14 @@ import java.util.stream.Collectors;
 public class UserServiceImpl implements UserService {
     private final UserJpaRepository userRepository;
     private final UserMapper userMapper;
+    private final PlatformTransactionManager transactionManager;
+    private final EntityManager entityManager;
 
     @Override
     public UserDto save(UserDto userDto) throws NotUniqueUserEmail {
         User user = userMapper.dtoToModel(userDto);
         userRepository.save(user);
-        log.debug(String.format("User with id = %d saved", user.getId()));
+        log.debug("User with id = {} saved", user.getId());
         return userMapper.modelToDto(user);
     }
 
@@ -33,14 +44,19 @@ public class UserServiceImpl implements UserService {
     public UserDto findById(Long id) throws EntityNotFoundException {
         User user = userRepository.findById(id).orElseThrow(
                 () -> new EntityNotFoundException(String.format("%s with id = %d does not exist in database", "User", id)));
-        log.debug(String.format("User with id = %d founded", id));
+        log.debug("User with id = {} founded", id);
         return userMapper.modelToDto(user);
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = UserJpaRepository.USERS_CACHE, key = "#id", beforeInvocation = true),
+            @CacheEvict(cacheNames = UserJpaRepository.USERS_CACHE, key = "#id")
+    })
     public UserDto update(UserDto userDto, Long id) throws EntityNotFoundException, NotUniqueUserEmail {
-        User user = userRepository.findById(id).orElseThrow(
-                () -> new EntityNotFoundException(String.format("%s with id = %d does not exist in database", "User", id)));
+        // the cached instance is shared by all readers, only a copy may be changed
+        User user = userMapper.copy(userRepository.findById(id).orElseThrow(
+                () -> new EntityNotFoundException(String.format("%s with id = %d does not exist in database", "User", id))));
         String updatedEmail = userDto.getEmail();
         String updatedName = userDto.getName();
         if (updatedEmail != null) {
@@ -56,15 +72,21 @@ public class UserServiceImpl implements UserService {
         }
         log.debug("For User Entity fields initialized to provide UPDATE operation");
         userRepository.save(user);
-        log.debug(String.format("User with id = %d updated", id));
+        log.debug("User with id = {} updated", id);
         return userMapper.modelToDto(user);
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = UserJpaRepository.USERS_CACHE, key = "#id", beforeInvocation = true),
+            @CacheEvict(cacheNames = UserJpaRepository.USER_EXISTS_CACHE, key = "#id", beforeInvocation = true),
+            @CacheEvict(cacheNames = UserJpaRepository.USERS_CACHE, key = "#id"),
+            @CacheEvict(cacheNames = UserJpaRepository.USER_EXISTS_CACHE, key = "#id")
+    })
     public void deleteById(Long id) throws EntityNotFoundException {
         if (userRepository.existsById(id)) {
             userRepository.deleteById(id);
-            log.debug(String.format("User with id = %d deleted", id));
+            log.debug("User with id = {} deleted", id);
         } else {
             throw new EntityNotFoundException(String.format("%s with id = %d does not exist in database", "User", id));
         }
@@ -77,4 +99,25 @@ public class UserServiceImpl implements UserService {
                 .map(userMapper::modelToDto)
                 .collect(Collectors.toList());
     }
+
+    @Override
+    public List<UserDto> findAll(PageCursor after, int size) {
+        return userRepository.findByIdGreaterThanOrderByIdAsc(after.getId(), PageRequest.of(0, size))
+                .stream()
+                .map(userMapper::modelToDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void exportAll(Consumer<UserDto> consumer) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<User> users = userRepository.streamAllByOrderByIdAsc()) {
+                users.peek(entityManager::detach)
+                        .map(userMapper::modelToDto)
+                        .forEach(consumer);
+            }
+        });
+    }
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings (booker_id, start_time DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_status_start ON bookings (booker_id, status, start_time DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start ON bookings (item_id, start_time DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status_start ON bookings (item_id, status, start_time DESC);
+
+CREATE INDEX IF NOT EXISTS idx_items_owner ON items (owner_id, item_id);
+CREATE INDEX IF NOT EXISTS idx_items_request ON items (request_id);
+
+CREATE INDEX IF NOT EXISTS idx_comments_item ON comments (item_id, comment_id);
+
+CREATE INDEX IF NOT EXISTS idx_requests_author_created ON requests (author_id, creation_date DESC);
+CREATE INDEX IF NOT EXISTS idx_requests_created ON requests (creation_date DESC);
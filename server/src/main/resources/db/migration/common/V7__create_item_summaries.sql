@@ -0,0 +1,23 @@
+CREATE TABLE IF NOT EXISTS item_summaries (
+	item_id BIGINT PRIMARY KEY REFERENCES items (item_id) ON DELETE CASCADE,
+	last_booking_id BIGINT,
+	last_booking_start TIMESTAMP,
+	last_booking_end TIMESTAMP,
+	last_booker_id BIGINT,
+	last_booking_status INTEGER,
+	next_booking_id BIGINT,
+	next_booking_start TIMESTAMP,
+	next_booking_end TIMESTAMP,
+	next_booker_id BIGINT,
+	next_booking_status INTEGER,
+	comment_count INTEGER DEFAULT 0 NOT NULL,
+	latest_comments VARCHAR (10000),
+	valid_until TIMESTAMP NOT NULL,
+	refreshed_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_item_summaries_valid_until ON item_summaries (valid_until);
+
+-- already stale, the refresher fills them in
+INSERT INTO item_summaries (item_id, valid_until, refreshed_at)
+SELECT item_id, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP FROM items;
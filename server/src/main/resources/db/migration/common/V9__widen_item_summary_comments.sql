@@ -0,0 +1 @@
+ALTER TABLE item_summaries ALTER COLUMN latest_comments SET DATA TYPE TEXT;
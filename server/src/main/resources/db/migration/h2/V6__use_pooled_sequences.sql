@@ -0,0 +1,25 @@
+-- Hibernate reserves blocks of 50 ids per nextval (pooled-lo), rows inserted by plain SQL take a whole block
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE users_seq RESTART WITH (SELECT COALESCE(MAX(user_id), 0) + 1 FROM users);
+ALTER TABLE users ALTER COLUMN user_id DROP IDENTITY;
+ALTER TABLE users ALTER COLUMN user_id SET DEFAULT NEXT VALUE FOR users_seq;
+
+CREATE SEQUENCE IF NOT EXISTS requests_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE requests_seq RESTART WITH (SELECT COALESCE(MAX(request_id), 0) + 1 FROM requests);
+ALTER TABLE requests ALTER COLUMN request_id DROP IDENTITY;
+ALTER TABLE requests ALTER COLUMN request_id SET DEFAULT NEXT VALUE FOR requests_seq;
+
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE items_seq RESTART WITH (SELECT COALESCE(MAX(item_id), 0) + 1 FROM items);
+ALTER TABLE items ALTER COLUMN item_id DROP IDENTITY;
+ALTER TABLE items ALTER COLUMN item_id SET DEFAULT NEXT VALUE FOR items_seq;
+
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE bookings_seq RESTART WITH (SELECT COALESCE(MAX(booking_id), 0) + 1 FROM bookings);
+ALTER TABLE bookings ALTER COLUMN booking_id DROP IDENTITY;
+ALTER TABLE bookings ALTER COLUMN booking_id SET DEFAULT NEXT VALUE FOR bookings_seq;
+
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE comments_seq RESTART WITH (SELECT COALESCE(MAX(comment_id), 0) + 1 FROM comments);
+ALTER TABLE comments ALTER COLUMN comment_id DROP IDENTITY;
+ALTER TABLE comments ALTER COLUMN comment_id SET DEFAULT NEXT VALUE FOR comments_seq;
@@ -0,0 +1,6 @@
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- status 0 = WAITING, 1 = APPROVED
+ALTER TABLE bookings ADD CONSTRAINT bookings_no_overlap
+    EXCLUDE USING gist (item_id WITH =, tsrange(start_time, end_time) WITH &&)
+    WHERE (status IN (0, 1));
@@ -0,0 +1,25 @@
+-- Hibernate reserves blocks of 50 ids per nextval (pooled-lo), rows inserted by plain SQL take a whole block
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('users_seq', (SELECT COALESCE(MAX(user_id), 0) + 1 FROM users), false);
+ALTER TABLE users ALTER COLUMN user_id DROP IDENTITY;
+ALTER TABLE users ALTER COLUMN user_id SET DEFAULT nextval('users_seq');
+
+CREATE SEQUENCE IF NOT EXISTS requests_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('requests_seq', (SELECT COALESCE(MAX(request_id), 0) + 1 FROM requests), false);
+ALTER TABLE requests ALTER COLUMN request_id DROP IDENTITY;
+ALTER TABLE requests ALTER COLUMN request_id SET DEFAULT nextval('requests_seq');
+
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('items_seq', (SELECT COALESCE(MAX(item_id), 0) + 1 FROM items), false);
+ALTER TABLE items ALTER COLUMN item_id DROP IDENTITY;
+ALTER TABLE items ALTER COLUMN item_id SET DEFAULT nextval('items_seq');
+
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('bookings_seq', (SELECT COALESCE(MAX(booking_id), 0) + 1 FROM bookings), false);
+ALTER TABLE bookings ALTER COLUMN booking_id DROP IDENTITY;
+ALTER TABLE bookings ALTER COLUMN booking_id SET DEFAULT nextval('bookings_seq');
+
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('comments_seq', (SELECT COALESCE(MAX(comment_id), 0) + 1 FROM comments), false);
+ALTER TABLE comments ALTER COLUMN comment_id DROP IDENTITY;
+ALTER TABLE comments ALTER COLUMN comment_id SET DEFAULT nextval('comments_seq');
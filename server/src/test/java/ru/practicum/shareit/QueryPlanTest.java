@@ -0,0 +1,188 @@
+package ru.practicum.shareit;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.repository.CommentJpaRepository;
+import ru.practicum.shareit.item.repository.ItemJpaRepository;
+import ru.practicum.shareit.request.repository.ItemRequestJpaRepository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+// explains the statements Hibernate generates for the hot repository methods, not hand-written copies of them
+@DataJpaTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DirtiesContext
+class QueryPlanTest {
+    private static final int USERS = 100;
+    private static final int ITEMS = 500;
+    private static final int BOOKINGS = 5000;
+    private static final int REQUESTS = 300;
+    private static final int COMMENTS = 1000;
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+    private static final Pageable PAGE = PageRequest.of(0, 10);
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    BookingRepository bookingRepository;
+    @Autowired
+    ItemJpaRepository itemRepository;
+    @Autowired
+    CommentJpaRepository commentRepository;
+    @Autowired
+    ItemRequestJpaRepository itemRequestRepository;
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("hotQueries")
+    void hotQueriesShouldNotScanWholeTables(String name, Runnable query) {
+        STATEMENTS.clear();
+        query.run();
+
+        assertFalse(STATEMENTS.isEmpty(), () -> name + " issued no statement");
+        for (String statement : STATEMENTS) {
+            List<String> plan = jdbcTemplate.query("EXPLAIN " + statement, (PreparedStatementSetter) null,
+                    (rs, rowNum) -> rs.getString(1));
+
+            assertFalse(String.join("\n", plan).contains("tableScan"), () -> "Sequential scan in plan:\n" + plan);
+        }
+    }
+
+    Stream<Arguments> hotQueries() {
+        return Stream.of(
+                query("bookings of booker", () ->
+                        bookingRepository.findAllByBookerIdOrderByStartDescIdDesc(7L, PAGE)),
+                query("past bookings of booker", () ->
+                        bookingRepository.findAllByBookerIdAndEndBeforeOrderByStartDescIdDesc(7L, NOW, PAGE)),
+                query("future bookings of booker", () ->
+                        bookingRepository.findAllByBookerIdAndStartAfterAndStatusNotOrderByStartDescIdDesc(7L, NOW,
+                                Status.REJECTED, PAGE)),
+                query("current bookings of booker", () ->
+                        bookingRepository.findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDescIdDesc(7L, NOW,
+                                NOW, PAGE)),
+                query("waiting bookings of booker", () ->
+                        bookingRepository.findAllByBookerIdAndStatusOrderByStartDescIdDesc(7L, Status.WAITING, PAGE)),
+                query("bookings of owner", () ->
+                        bookingRepository.findAllByItemOwnerIdOrderByStartDescIdDesc(7L, PAGE)),
+                query("past bookings of owner", () ->
+                        bookingRepository.findAllByItemOwnerIdAndEndBeforeOrderByStartDescIdDesc(7L, NOW, PAGE)),
+                query("waiting bookings of owner", () ->
+                        bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDescIdDesc(7L, Status.WAITING,
+                                PAGE)),
+                query("bookings of booker after cursor", () ->
+                        bookingRepository.findAllByBookerIdAfterCursor(7L, NOW, 100L, PAGE)),
+                query("past bookings of booker after cursor", () ->
+                        bookingRepository.findPastByBookerIdAfterCursor(7L, NOW, NOW, 100L, PAGE)),
+                query("bookings of owner after cursor", () ->
+                        bookingRepository.findAllByItemOwnerIdAfterCursor(7L, NOW, 100L, PAGE)),
+                query("waiting bookings of owner after cursor", () ->
+                        bookingRepository.findAllByItemOwnerIdAndStatusAfterCursor(7L, Status.WAITING, NOW, 100L,
+                                PAGE)),
+                query("completed booking of comment author", () ->
+                        bookingRepository.existsByBookerIdAndItemIdAndStatusAndEndBefore(7L, 7L, Status.APPROVED,
+                                NOW)),
+                query("last bookings of items", () ->
+                        bookingRepository.findLastBookingsOfItems(List.of(7L, 8L, 9L), NOW)),
+                query("next bookings of items", () ->
+                        bookingRepository.findNextBookingsOfItems(List.of(7L, 8L, 9L), NOW, Status.REJECTED)),
+                query("items of owner", () -> itemRepository.findByOwnerIdOrderByIdAsc(7L, PAGE)),
+                query("items of owner after cursor", () ->
+                        itemRepository.findByOwnerIdAndIdGreaterThanOrderByIdAsc(7L, 100L, PAGE)),
+                query("answers to request", () -> itemRepository.findByRequestIdOrderByIdAsc(7L)),
+                query("answers to requests", () -> itemRepository.findByRequestIdInOrderByIdAsc(List.of(7L, 8L, 9L))),
+                query("comments of item", () -> commentRepository.findAllByItemIdOrderByIdAsc(7L, PAGE)),
+                query("comments of items", () -> commentRepository.findAllByItemIdInOrderByIdAsc(List.of(7L, 8L, 9L))),
+                query("requests of author", () -> itemRequestRepository.findByAuthorIdOrderByCreatedDesc(7L, PAGE))
+        );
+    }
+
+    @TestConfiguration
+    static class StatementCapture {
+        @Bean
+        HibernatePropertiesCustomizer capturingStatementInspector() {
+            StatementInspector inspector = sql -> {
+                STATEMENTS.add(sql);
+                return sql;
+            };
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+        }
+    }
+
+    @BeforeAll
+    void seed() {
+        LocalDateTime base = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 1; i <= USERS; i++) {
+            users.add(new Object[]{"User " + i, "plan" + i + "@mail.ru"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (user_name, email) VALUES (?, ?)", users);
+        List<Long> userIds = jdbcTemplate.queryForList("SELECT user_id FROM users ORDER BY user_id", Long.class);
+
+        List<Object[]> requests = new ArrayList<>();
+        for (int i = 1; i <= REQUESTS; i++) {
+            requests.add(new Object[]{"Request " + i, Timestamp.valueOf(base.plusHours(i)),
+                    userIds.get(i % USERS)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO requests (description, creation_date, author_id) VALUES (?, ?, ?)",
+                requests);
+        List<Long> requestIds = jdbcTemplate.queryForList("SELECT request_id FROM requests ORDER BY request_id",
+                Long.class);
+
+        List<Object[]> items = new ArrayList<>();
+        for (int i = 1; i <= ITEMS; i++) {
+            items.add(new Object[]{"Item " + i, "Description " + i, userIds.get(i % USERS),
+                    i % 3 == 0 ? requestIds.get(i % REQUESTS) : null});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO items (item_name, description, available, owner_id, request_id) " +
+                "VALUES (?, ?, true, ?, ?)", items);
+        List<Long> itemIds = jdbcTemplate.queryForList("SELECT item_id FROM items ORDER BY item_id", Long.class);
+
+        List<Object[]> bookings = new ArrayList<>();
+        for (int i = 1; i <= BOOKINGS; i++) {
+            LocalDateTime start = base.plusDays(i % 3000);
+            bookings.add(new Object[]{Timestamp.valueOf(start), Timestamp.valueOf(start.plusDays(3)),
+                    itemIds.get(i % ITEMS), userIds.get((i * 7) % USERS), i % 3});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (start_time, end_time, item_id, booker_id, status) " +
+                "VALUES (?, ?, ?, ?, ?)", bookings);
+
+        List<Object[]> comments = new ArrayList<>();
+        for (int i = 1; i <= COMMENTS; i++) {
+            comments.add(new Object[]{"Comment " + i, itemIds.get(i % ITEMS), userIds.get(i % USERS),
+                    Timestamp.valueOf(base)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO comments (text, item_id, author_id, creation_date) VALUES (?, ?, ?, ?)",
+                comments);
+
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    private static Arguments query(String name, Runnable query) {
+        return Arguments.of(name, query);
+    }
+}
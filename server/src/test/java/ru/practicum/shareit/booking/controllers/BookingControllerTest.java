@@ -10,25 +10,32 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingDtoCompact;
 import ru.practicum.shareit.booking.dto.BookingDtoComplete;
 import ru.practicum.shareit.booking.exceptions.BookerAndOwnerAreSameUser;
+import ru.practicum.shareit.booking.exceptions.ItemAlreadyBooked;
 import ru.practicum.shareit.booking.exceptions.ItemNotAvailableException;
 import ru.practicum.shareit.booking.exceptions.StatusAlreadyConfirmed;
 import ru.practicum.shareit.booking.model.State;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.services.BookingService;
 import ru.practicum.shareit.item.exceptions.WrongOwnerException;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.user.exceptions.EntityNotFoundException;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -65,6 +72,51 @@ class BookingControllerTest {
         verify(bookingService, times(1)).save(anyLong(), any(BookingDto.class));
     }
 
+    @Test
+    void createBookings() throws Exception {
+        BookingDto bookingDto = new BookingDto();
+        bookingDto.setItemId(1L);
+        bookingDto.setStart(LocalDateTime.of(2000, 1, 1, 1, 1, 1));
+        bookingDto.setEnd(LocalDateTime.of(2001, 1, 1, 1, 1, 1));
+
+        BookingDtoComplete bookingDtoComplete = new BookingDtoComplete();
+        bookingDtoComplete.setId(1L);
+        bookingDtoComplete.setStart(LocalDateTime.of(2000, 1, 1, 1, 1, 1));
+        bookingDtoComplete.setEnd(LocalDateTime.of(2001, 1, 1, 1, 1, 1));
+
+        when(bookingService.saveAll(eq(1L), anyList())).thenReturn(List.of(
+                new BookingBatchResult(bookingDtoComplete, null),
+                new BookingBatchResult(null, "error")));
+
+        mockMvc.perform(post("/bookings/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(List.of(bookingDto, bookingDto))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].booking.start", is("2000-01-01T01:01:01")))
+                .andExpect(jsonPath("$[1].error", is("error")));
+
+        verify(bookingService, times(1)).saveAll(eq(1L), argThat(bookings -> bookings.size() == 2));
+    }
+
+    @Test
+    void findAllById() throws Exception {
+        BookingDtoComplete bookingDtoComplete = new BookingDtoComplete();
+        bookingDtoComplete.setId(1L);
+
+        when(bookingService.findAllById(1L, List.of(1L, 2L))).thenReturn(List.of(
+                new BookingBatchResult(bookingDtoComplete, null),
+                new BookingBatchResult(null, "error")));
+
+        mockMvc.perform(get("/bookings?ids=1,2")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].booking.id", is(1)))
+                .andExpect(jsonPath("$[1].error", is("error")));
+
+        verify(bookingService, never()).findAllUsersBookingsByState(anyLong(), any(State.class), any(Pageable.class));
+    }
+
     @Test
     void createBookingShouldNotFound() throws Exception {
         BookingDto bookingDto = new BookingDto();
@@ -80,6 +132,21 @@ class BookingControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void createBookingShouldConflictWhenItemAlreadyBooked() throws Exception {
+        BookingDto bookingDto = new BookingDto();
+        bookingDto.setItemId(1L);
+        bookingDto.setStart(LocalDateTime.of(2000, 1, 1, 1, 1, 1));
+        bookingDto.setEnd(LocalDateTime.of(2001, 1, 1, 1, 1, 1));
+        when(bookingService.save(any(Long.class), any(BookingDto.class))).thenThrow(new ItemAlreadyBooked("error"));
+
+        mockMvc.perform(post("/bookings")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(bookingDto)))
+                .andExpect(status().isConflict());
+    }
+
     @Test
     void createBookingShouldBookerAndOwnerAreSameUser() throws Exception {
         BookingDto bookingDto = new BookingDto();
@@ -118,7 +185,7 @@ class BookingControllerTest {
         bookingDtoComplete.setEnd(LocalDateTime.of(2001, 1, 1, 1, 1, 1));
         bookingDtoComplete.setStatus(Status.APPROVED);
 
-        when(bookingService.confirmBooking(anyLong(), anyLong(), anyBoolean())).thenReturn(bookingDtoComplete);
+        when(bookingService.confirmBooking(anyLong(), anyLong(), anyBoolean(), isNull())).thenReturn(bookingDtoComplete);
 
         mockMvc.perform(patch("/bookings/1")
                         .header("X-Sharer-User-Id", 1L)
@@ -128,12 +195,30 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.start", is("2000-01-01T01:01:01")))
                 .andExpect(jsonPath("$.end", is("2001-01-01T01:01:01")));
 
-        verify(bookingService, times(1)).confirmBooking(anyLong(), anyLong(), anyBoolean());
+        verify(bookingService, times(1)).confirmBooking(anyLong(), anyLong(), anyBoolean(), isNull());
+    }
+
+    @Test
+    public void testConfirmBookingShouldPassIdempotencyKey() throws Exception {
+        BookingDtoComplete bookingDtoComplete = new BookingDtoComplete();
+        bookingDtoComplete.setId(1L);
+        bookingDtoComplete.setStatus(Status.APPROVED);
+        when(bookingService.confirmBooking(anyLong(), anyLong(), anyBoolean(), eq("key-1")))
+                .thenReturn(bookingDtoComplete);
+
+        mockMvc.perform(patch("/bookings/1")
+                        .header("X-Sharer-User-Id", 1L)
+                        .header("Idempotency-Key", "key-1")
+                        .param("approved", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("APPROVED")));
+
+        verify(bookingService, times(1)).confirmBooking(1L, 1L, true, "key-1");
     }
 
     @Test
     public void testConfirmBookingShouldThrowAlreadyConfirmed() throws Exception {
-        when(bookingService.confirmBooking(anyLong(), anyLong(), anyBoolean())).thenThrow(new StatusAlreadyConfirmed("error"));
+        when(bookingService.confirmBooking(anyLong(), anyLong(), anyBoolean(), isNull())).thenThrow(new StatusAlreadyConfirmed("error"));
 
         mockMvc.perform(patch("/bookings/1")
                         .header("X-Sharer-User-Id", 1L)
@@ -143,7 +228,7 @@ class BookingControllerTest {
 
     @Test
     public void testConfirmBookingShouldThrowWrongOwnerException() throws Exception {
-        when(bookingService.confirmBooking(anyLong(), anyLong(), anyBoolean())).thenThrow(new WrongOwnerException("error"));
+        when(bookingService.confirmBooking(anyLong(), anyLong(), anyBoolean(), isNull())).thenThrow(new WrongOwnerException("error"));
 
         mockMvc.perform(patch("/bookings/1")
                         .header("X-Sharer-User-Id", 1L)
@@ -241,6 +326,68 @@ class BookingControllerTest {
         verify(bookingService, times(1)).findAllOwnersBookingsByState(anyLong(), any(State.class), any(Pageable.class));
     }
 
+    @Test
+    public void testFindAllUsersBookingsByStateAfterCursor() throws Exception {
+        BookingDtoComplete bookingDtoComplete = new BookingDtoComplete();
+        bookingDtoComplete.setId(4L);
+        bookingDtoComplete.setStart(LocalDateTime.of(2000, 1, 1, 1, 1, 1));
+        bookingDtoComplete.setEnd(LocalDateTime.of(2001, 1, 1, 1, 1, 1));
+        bookingDtoComplete.setStatus(Status.APPROVED);
+        String after = PageCursor.of(LocalDateTime.of(3000, 1, 1, 1, 1, 1), 7L).encode();
+
+        when(bookingService.findAllUsersBookingsByState(anyLong(), any(State.class), any(PageCursor.class), eq(1)))
+                .thenReturn(List.of(bookingDtoComplete));
+
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("state", "ALL")
+                        .param("size", "1")
+                        .param("after", after))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(4)))
+                .andExpect(header().string(PageCursor.NEXT_CURSOR_HEADER,
+                        PageCursor.of(LocalDateTime.of(2000, 1, 1, 1, 1, 1), 4L).encode()));
+
+        verify(bookingService, never()).findAllUsersBookingsByState(anyLong(), any(State.class), any(Pageable.class));
+    }
+
+    @Test
+    public void testFindAllOwnersBookingsCompact() throws Exception {
+        BookingDtoCompact bookingDtoCompact = new BookingDtoCompact(4L, LocalDateTime.of(2000, 1, 1, 1, 1, 1),
+                LocalDateTime.of(2001, 1, 1, 1, 1, 1), 2L, "Item", 3L, Status.APPROVED);
+
+        when(bookingService.findAllOwnersBookingsCompact(anyLong(), any(State.class), any(Pageable.class)))
+                .thenReturn(List.of(bookingDtoCompact));
+
+        mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", 1L)
+                        .accept(BookingDtoCompact.MEDIA_TYPE)
+                        .param("state", "ALL")
+                        .param("from", "0")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", BookingDtoCompact.MEDIA_TYPE))
+                .andExpect(jsonPath("$[0].id", is(4)))
+                .andExpect(jsonPath("$[0].itemId", is(2)))
+                .andExpect(jsonPath("$[0].itemName", is("Item")))
+                .andExpect(jsonPath("$[0].bookerId", is(3)))
+                .andExpect(jsonPath("$[0].item").doesNotExist());
+
+        verify(bookingService, never()).findAllOwnersBookingsByState(anyLong(), any(State.class), any(Pageable.class));
+    }
+
+    @Test
+    public void testFindAllOwnersBookingsByStateShouldRejectMalformedCursor() throws Exception {
+        mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("state", "ALL")
+                        .param("after", "not a cursor"))
+                .andExpect(status().isBadRequest());
+
+        verify(bookingService, never()).findAllOwnersBookingsByState(anyLong(), any(State.class), any(PageCursor.class),
+                anyInt());
+    }
+
     private static String asJsonString(Object obj) throws JsonProcessingException {
         ObjectMapper objectMapper = new ObjectMapper();
         objectMapper.findAndRegisterModules();
@@ -0,0 +1,115 @@
+package ru.practicum.shareit.booking.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.exceptions.ItemAlreadyBooked;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.services.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.services.UserService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class BookingServiceConcurrencyTest {
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 50;
+    private static final int SLOTS = 20;
+
+    @Autowired
+    BookingService bookingService;
+    @Autowired
+    ItemService itemService;
+    @Autowired
+    UserService userService;
+    @Autowired
+    BookingRepository bookingRepository;
+
+    @Test
+    void concurrentSaveShouldNeverOverlapBookingsOfOneItem() throws Exception {
+        Long ownerId = userService.save(user("owner")).getId();
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName("Popular item");
+        itemDto.setDescription("Everyone wants it");
+        itemDto.setAvailable(true);
+        Long itemId = itemService.save(ownerId, itemDto).getId();
+        List<Long> bookerIds = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            bookerIds.add(userService.save(user("booker" + i)).getId());
+        }
+
+        LocalDateTime base = LocalDateTime.now().plusDays(1).withNano(0);
+        AtomicInteger saved = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            Long bookerId = bookerIds.get(thread);
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int attempt = 0; attempt < ATTEMPTS_PER_THREAD; attempt++) {
+                    int slot = ThreadLocalRandom.current().nextInt(SLOTS);
+                    BookingDto bookingDto = new BookingDto();
+                    bookingDto.setItemId(itemId);
+                    bookingDto.setStart(base.plusHours(slot));
+                    bookingDto.setEnd(base.plusHours(slot + 1 + ThreadLocalRandom.current().nextInt(3)));
+                    try {
+                        bookingService.save(bookerId, bookingDto);
+                        saved.incrementAndGet();
+                    } catch (ItemAlreadyBooked e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        executor.shutdown();
+        log.info(String.format("%d booking attempts in %d ms (%d per second), %d saved, %d rejected",
+                THREADS * ATTEMPTS_PER_THREAD, elapsedMillis, THREADS * ATTEMPTS_PER_THREAD * 1000L / elapsedMillis,
+                saved.get(), rejected.get()));
+
+        List<Booking> bookings = bookingRepository.findAll().stream()
+                .filter(booking -> booking.getStatus() == Status.WAITING)
+                .sorted((first, second) -> first.getStart().compareTo(second.getStart()))
+                .collect(Collectors.toList());
+        assertEquals(saved.get(), bookings.size());
+        assertEquals(THREADS * ATTEMPTS_PER_THREAD, saved.get() + rejected.get());
+        assertTrue(saved.get() > 0);
+        for (int i = 1; i < bookings.size(); i++) {
+            assertTrue(!bookings.get(i).getStart().isBefore(bookings.get(i - 1).getEnd()),
+                    String.format("Booking %d overlaps booking %d", bookings.get(i).getId(), bookings.get(i - 1).getId()));
+        }
+    }
+
+    private static UserDto user(String name) {
+        UserDto userDto = new UserDto();
+        userDto.setName(name);
+        userDto.setEmail(name + "@concurrency.test");
+        return userDto;
+    }
+}
@@ -10,7 +10,11 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingDtoCompact;
 import ru.practicum.shareit.booking.dto.BookingDtoComplete;
+import ru.practicum.shareit.booking.exceptions.StatusAlreadyConfirmed;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.State;
 import ru.practicum.shareit.booking.model.Status;
@@ -20,6 +24,7 @@ import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.exceptions.CommentWithoutCompletedBooking;
 import ru.practicum.shareit.item.repository.ItemJpaRepository;
 import ru.practicum.shareit.item.services.ItemService;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.exceptions.EntityNotFoundException;
 import ru.practicum.shareit.user.exceptions.NotUniqueUserEmail;
@@ -581,12 +586,147 @@ class BookingServiceIntegrationTest {
         assertEquals(Status.APPROVED, bookings.get(0).getStatus());
     }
 
+    @Test
+    void allFindAllOwnersBookingsByCursor() throws EntityNotFoundException {
+        List<Long> bookingsId = new ArrayList<>();
+        List<BookingDtoComplete> page = new ArrayList<>(
+                bookingService.findAllOwnersBookingsByState(1L, State.ALL, PageRequest.of(0, 2)));
+        while (!page.isEmpty()) {
+            page.forEach(booking -> bookingsId.add(booking.getId()));
+            BookingDtoComplete last = page.get(page.size() - 1);
+            page = bookingService.findAllOwnersBookingsByState(1L, State.ALL,
+                    PageCursor.of(last.getStart(), last.getId()), 2);
+        }
+
+        assertEquals(List.of(5L, 3L, 4L, 2L, 6L, 1L), bookingsId);
+    }
+
+    @Test
+    void waitingFindAllOwnersBookingsByCursor() throws EntityNotFoundException {
+        List<BookingDtoComplete> bookings = bookingService.findAllOwnersBookingsByState(1L, State.WAITING,
+                PageCursor.of(LocalDateTime.of(2035, 1, 1, 1, 1, 1, 1), 5L), 10);
+
+        assertEquals(1, bookings.size());
+        assertEquals(2L, bookings.get(0).getId());
+    }
+
+    @Test
+    void allFindAllUsersBookingsByCursor() throws EntityNotFoundException {
+        List<BookingDtoComplete> bookings = bookingService.findAllUsersBookingsByState(2L, State.ALL,
+                PageCursor.of(LocalDateTime.of(2030, 1, 1, 1, 1, 1, 1), 3L), 10);
+        List<Long> bookingsId = bookings.stream().map(BookingDtoComplete::getId).collect(Collectors.toList());
+
+        assertEquals(List.of(2L, 1L), bookingsId);
+    }
+
+    @Test
+    void compactFindAllBookingsByStateShouldMatchCompleteView() throws EntityNotFoundException {
+        for (State state : State.values()) {
+            assertEquals(bookingService.findAllUsersBookingsByState(2L, state, Pageable.unpaged()).stream()
+                            .map(BookingDtoComplete::getId).collect(Collectors.toList()),
+                    bookingService.findAllUsersBookingsCompact(2L, state, Pageable.unpaged()).stream()
+                            .map(BookingDtoCompact::getId).collect(Collectors.toList()), state.name());
+            assertEquals(bookingService.findAllOwnersBookingsByState(1L, state, Pageable.unpaged()).stream()
+                            .map(BookingDtoComplete::getId).collect(Collectors.toList()),
+                    bookingService.findAllOwnersBookingsCompact(1L, state, Pageable.unpaged()).stream()
+                            .map(BookingDtoCompact::getId).collect(Collectors.toList()), state.name());
+        }
+    }
+
+    @Test
+    void allFindAllOwnersBookingsCompactByCursor() throws EntityNotFoundException {
+        List<Long> bookingsId = new ArrayList<>();
+        List<BookingDtoCompact> page = bookingService.findAllOwnersBookingsCompact(1L, State.ALL,
+                PageRequest.of(0, 2));
+        assertEquals("Second Item", page.get(0).getItemName());
+        assertEquals(3L, page.get(0).getBookerId());
+        while (!page.isEmpty()) {
+            page.forEach(booking -> bookingsId.add(booking.getId()));
+            BookingDtoCompact last = page.get(page.size() - 1);
+            page = bookingService.findAllOwnersBookingsCompact(1L, State.ALL,
+                    PageCursor.of(last.getStart(), last.getId()), 2);
+        }
+
+        assertEquals(List.of(5L, 3L, 4L, 2L, 6L, 1L), bookingsId);
+    }
+
     @Test
     void findAllUsersBookingsByPaginationShouldThrow() {
         assertThrows(EntityNotFoundException.class, () -> bookingService.findAllUsersBookingsByState(99L,
                 State.WAITING, Pageable.unpaged()));
     }
 
+    @Test
+    void confirmBookingShouldUpdateWaitingBookingOnlyOnce() throws Exception {
+        BookingDtoComplete confirmed = bookingService.confirmBooking(1L, 2L, true);
+
+        assertEquals(Status.APPROVED, confirmed.getStatus());
+        Booking stored = bookingRepository.findById(2L).orElseThrow();
+        assertEquals(Status.APPROVED, stored.getStatus());
+        assertEquals(1L, stored.getVersion());
+        assertEquals(0, bookingRepository.updateStatus(2L, Status.WAITING, Status.REJECTED));
+        Assertions.assertThrows(StatusAlreadyConfirmed.class, () -> bookingService.confirmBooking(1L, 2L, false));
+    }
+
+    @Test
+    void saveAllShouldReturnPerEntryResults() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2050, 1, 1, 1, 1, 1);
+        List<BookingDto> bookingDtos = List.of(
+                bookingDto(3L, start, start.plusDays(2)),
+                bookingDto(3L, start.plusDays(1), start.plusDays(3)),
+                bookingDto(3L, start.plusDays(2), start.plusDays(4)),
+                bookingDto(2L, LocalDateTime.of(2036, 1, 1, 1, 1, 1), LocalDateTime.of(2037, 1, 1, 1, 1, 1)),
+                bookingDto(4L, start, start.plusDays(1)),
+                bookingDto(99L, start, start.plusDays(1)));
+
+        List<BookingBatchResult> results = bookingService.saveAll(3L, bookingDtos);
+
+        assertEquals(6, results.size());
+        BookingDtoComplete first = results.get(0).getBooking();
+        assertEquals(Status.WAITING, first.getStatus());
+        assertEquals(3L, first.getItem().getId());
+        assertEquals(3L, first.getBooker().getId());
+        assertTrue(results.get(1).getError().contains("already booked"));
+        assertNotNull(results.get(2).getBooking());
+        assertTrue(results.get(3).getError().contains("already booked"));
+        assertTrue(results.get(4).getError().contains("not available"));
+        assertTrue(results.get(5).getError().contains("does not exist"));
+
+        Booking stored = bookingRepository.findById(first.getId()).orElseThrow();
+        assertEquals(start, stored.getStart());
+        assertEquals(Status.WAITING, stored.getStatus());
+        assertEquals(0L, stored.getVersion());
+        assertTrue(bookingRepository.findById(results.get(2).getBooking().getId()).isPresent());
+    }
+
+    @Test
+    void saveAllShouldThrowWhenBookerNotFound() {
+        List<BookingDto> bookingDtos = List.of(bookingDto(3L, LocalDateTime.of(2050, 1, 1, 1, 1, 1),
+                LocalDateTime.of(2051, 1, 1, 1, 1, 1)));
+
+        assertThrows(EntityNotFoundException.class, () -> bookingService.saveAll(99L, bookingDtos));
+    }
+
+    @Test
+    void findAllByIdShouldReturnPerEntryResults() {
+        List<BookingBatchResult> results = bookingService.findAllById(2L, List.of(1L, 5L, 99L, 1L));
+
+        assertEquals(4, results.size());
+        assertEquals(1L, results.get(0).getBooking().getId());
+        assertEquals("Second User", results.get(0).getBooking().getBooker().getName());
+        assertTrue(results.get(1).getError().contains("is not owner or booker"));
+        assertTrue(results.get(2).getError().contains("does not exist"));
+        assertEquals(1L, results.get(3).getBooking().getId());
+    }
+
+    private BookingDto bookingDto(Long itemId, LocalDateTime start, LocalDateTime end) {
+        BookingDto bookingDto = new BookingDto();
+        bookingDto.setItemId(itemId);
+        bookingDto.setStart(start);
+        bookingDto.setEnd(end);
+        return bookingDto;
+    }
+
     @BeforeEach
     void setUp() throws NotUniqueUserEmail, EntityNotFoundException, CommentWithoutCompletedBooking {
         UserDto user1 = new UserDto();
@@ -0,0 +1,137 @@
+package ru.practicum.shareit.booking.services;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingDtoComplete;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.PageCursor;
+import ru.practicum.shareit.user.exceptions.EntityNotFoundException;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@Transactional
+@SpringBootTest(
+        properties = {"spring.jpa.properties.hibernate.generate_statistics=true",
+                "shareit.item-summary.refresher.enabled=false"},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class BookingServiceStatementCountTest {
+    private static final int ITEMS = 4;
+    private static final int BOOKERS = 4;
+
+    @Autowired
+    BookingService bookingService;
+    @Autowired
+    EntityManager entityManager;
+    Statistics statistics;
+    User owner;
+    User booker;
+
+    @ParameterizedTest
+    @EnumSource(State.class)
+    void findAllUsersBookingsByStateShouldUseOneStatementPerPage(State state) throws EntityNotFoundException {
+        statistics.clear();
+        Collection<BookingDtoComplete> bookings = bookingService.findAllUsersBookingsByState(booker.getId(), state,
+                PageRequest.of(0, 10));
+
+        assertStatements(bookings);
+    }
+
+    @ParameterizedTest
+    @EnumSource(State.class)
+    void findAllOwnersBookingsByStateShouldUseOneStatementPerPage(State state) throws EntityNotFoundException {
+        statistics.clear();
+        Collection<BookingDtoComplete> bookings = bookingService.findAllOwnersBookingsByState(owner.getId(), state,
+                PageRequest.of(0, 10));
+
+        assertStatements(bookings);
+    }
+
+    @ParameterizedTest
+    @EnumSource(State.class)
+    void findAllOwnersBookingsByStateAfterCursorShouldUseOneStatementPerPage(State state)
+            throws EntityNotFoundException {
+        statistics.clear();
+        Collection<BookingDtoComplete> bookings = bookingService.findAllOwnersBookingsByState(owner.getId(), state,
+                PageCursor.of(LocalDateTime.now().plusYears(100), Long.MAX_VALUE), 10);
+
+        assertStatements(bookings);
+    }
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        owner = user("owner");
+        booker = user("booker");
+        List<User> bookers = new ArrayList<>(List.of(booker));
+        for (int i = 1; i < BOOKERS; i++) {
+            bookers.add(user("booker" + i));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Status[] statuses = {Status.APPROVED, Status.WAITING, Status.REJECTED};
+        for (int i = 0; i < ITEMS; i++) {
+            Item item = new Item();
+            item.setName("Item " + i);
+            item.setDescription("Description " + i);
+            item.setAvailable(true);
+            item.setOwnerId(owner.getId());
+            entityManager.persist(item);
+            for (int j = 0; j < BOOKERS; j++) {
+                int shift = i * BOOKERS + j;
+                booking(item, bookers.get(j), now.minusDays(30 - shift), now.minusDays(29 - shift),
+                        statuses[shift % statuses.length]);
+                booking(item, bookers.get(j), now.minusDays(shift + 1), now.plusDays(shift + 1), Status.APPROVED);
+                booking(item, bookers.get(j), now.plusDays(shift + 1), now.plusDays(shift + 2),
+                        statuses[shift % statuses.length]);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private void assertStatements(Collection<BookingDtoComplete> bookings) {
+        assertFalse(bookings.isEmpty());
+        for (BookingDtoComplete booking : bookings) {
+            assertFalse(booking.getItem().getName().isEmpty());
+            assertFalse(booking.getBooker().getEmail().isEmpty());
+        }
+        // the user existence check plus a single query for the whole page
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    private User user(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "@statements.test");
+        entityManager.persist(user);
+        return user;
+    }
+
+    private void booking(Item item, User booker, LocalDateTime start, LocalDateTime end, Status status) {
+        Booking booking = new Booking();
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStart(start);
+        booking.setEnd(end);
+        booking.setStatus(status);
+        entityManager.persist(booking);
+    }
+}
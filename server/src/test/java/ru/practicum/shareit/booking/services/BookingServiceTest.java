@@ -7,8 +7,10 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
 import ru.practicum.shareit.booking.dto.*;
 import ru.practicum.shareit.booking.exceptions.BookerAndOwnerAreSameUser;
+import ru.practicum.shareit.booking.exceptions.ItemAlreadyBooked;
 import ru.practicum.shareit.booking.exceptions.ItemNotAvailableException;
 import ru.practicum.shareit.booking.exceptions.StatusAlreadyConfirmed;
 import ru.practicum.shareit.booking.model.Booking;
@@ -18,6 +20,7 @@ import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.exceptions.WrongOwnerException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemJpaRepository;
+import ru.practicum.shareit.item.services.ItemSummaryService;
 import ru.practicum.shareit.user.exceptions.EntityNotFoundException;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserJpaRepository;
@@ -40,6 +43,10 @@ class BookingServiceTest {
     UserJpaRepository userRepository;
     @Mock
     ItemJpaRepository itemRepository;
+    @Mock
+    ItemSummaryService itemSummaryService;
+    @Mock
+    PlatformTransactionManager transactionManager;
     BookingService bookingService;
     ItemDto itemDto;
     BookingDto bookingDto;
@@ -51,7 +58,7 @@ class BookingServiceTest {
     @BeforeEach
     void inject() {
         bookingService = new BookingServiceImpl(bookingRepository, bookingMapper, bookingMapperComplete, userRepository,
-                itemRepository);
+                itemRepository, itemSummaryService, transactionManager);
 
         itemDto = new ItemDto();
         itemDto.setName("Knife");
@@ -118,9 +125,26 @@ class BookingServiceTest {
         assertThrows(ItemNotAvailableException.class, () -> bookingService.save(1L, bookingDto));
     }
 
+    @Test
+    void saveShouldThrowItemAlreadyBookedWhenDatesOverlap() {
+        Mockito
+                .when(userRepository.findById(1L))
+                .thenReturn(Optional.ofNullable(booker));
+        Mockito
+                .when(itemRepository.findById(1L))
+                .thenReturn(Optional.ofNullable(item));
+        Mockito
+                .when(bookingRepository.existsOverlapping(Mockito.eq(1L), Mockito.any(LocalDateTime.class),
+                        Mockito.any(LocalDateTime.class), Mockito.anyCollection()))
+                .thenReturn(true);
+
+        assertThrows(ItemAlreadyBooked.class, () -> bookingService.save(1L, bookingDto));
+        Mockito.verify(bookingRepository, Mockito.never()).save(Mockito.any(Booking.class));
+    }
+
     @Test
     void saveShouldSetStatusBookerItem() throws ItemNotAvailableException, BookerAndOwnerAreSameUser,
-            EntityNotFoundException {
+            EntityNotFoundException, ItemAlreadyBooked {
         Mockito
                 .when(userRepository.findById(1L))
                 .thenReturn(Optional.ofNullable(booker));
@@ -128,13 +152,14 @@ class BookingServiceTest {
                 .when(itemRepository.findById(1L))
                 .thenReturn(Optional.ofNullable(item));
         Mockito
-                .when(bookingRepository.save(booking))
+                .when(bookingRepository.saveAndFlush(booking))
                 .thenReturn(booking);
 
         BookingDtoComplete savedBooking = bookingService.save(1L, bookingDto);
         assertEquals(Status.WAITING, savedBooking.getStatus());
         assertEquals(1L, savedBooking.getItem().getId());
         assertEquals(1L, savedBooking.getBooker().getId());
+        Mockito.verify(itemSummaryService, Mockito.times(1)).refresh(1L);
     }
 
     @Test
@@ -143,11 +168,12 @@ class BookingServiceTest {
                 .when(bookingRepository.findById(1L))
                 .thenReturn(Optional.ofNullable(booking));
         Mockito
-                .when(bookingRepository.save(booking))
-                .thenReturn(booking);
+                .when(bookingRepository.updateStatus(1L, Status.WAITING, Status.APPROVED))
+                .thenReturn(1);
 
         BookingDtoComplete savedBooking = bookingService.confirmBooking(2L, 1L, true);
         assertEquals(Status.APPROVED, savedBooking.getStatus());
+        Mockito.verify(itemSummaryService, Mockito.times(1)).refresh(1L);
     }
 
     @Test
@@ -156,8 +182,8 @@ class BookingServiceTest {
                 .when(bookingRepository.findById(1L))
                 .thenReturn(Optional.ofNullable(booking));
         Mockito
-                .when(bookingRepository.save(booking))
-                .thenReturn(booking);
+                .when(bookingRepository.updateStatus(1L, Status.WAITING, Status.REJECTED))
+                .thenReturn(1);
 
         BookingDtoComplete savedBooking = bookingService.confirmBooking(2L, 1L, false);
         assertEquals(Status.REJECTED, savedBooking.getStatus());
@@ -169,20 +195,51 @@ class BookingServiceTest {
                 .when(bookingRepository.findById(1L))
                 .thenReturn(Optional.ofNullable(booking));
         Mockito
-                .when(bookingRepository.save(booking))
+                .when(bookingRepository.saveAndFlush(booking))
                 .thenReturn(booking);
         booking.setStatus(Status.APPROVED);
 
         assertThrows(StatusAlreadyConfirmed.class, () -> bookingService.confirmBooking(2L, 1L, true));
     }
 
+    @Test
+    void confirmBookingConcurrentlyConfirmedShouldThrow() {
+        Mockito
+                .when(bookingRepository.findById(1L))
+                .thenReturn(Optional.ofNullable(booking));
+        Mockito
+                .when(bookingRepository.updateStatus(1L, Status.WAITING, Status.APPROVED))
+                .thenReturn(0);
+
+        assertThrows(StatusAlreadyConfirmed.class, () -> bookingService.confirmBooking(2L, 1L, true));
+        Mockito.verify(itemSummaryService, Mockito.never()).refresh(Mockito.anyLong());
+    }
+
+    @Test
+    void confirmBookingRetriedWithSameIdempotencyKeyShouldReturnFirstResult() throws WrongOwnerException,
+            StatusAlreadyConfirmed, EntityNotFoundException {
+        Mockito
+                .when(bookingRepository.findById(1L))
+                .thenReturn(Optional.ofNullable(booking));
+        Mockito
+                .when(bookingRepository.updateStatus(1L, Status.WAITING, Status.APPROVED))
+                .thenReturn(1);
+
+        BookingDtoComplete first = bookingService.confirmBooking(2L, 1L, true, "key-1");
+        BookingDtoComplete retried = bookingService.confirmBooking(2L, 1L, true, "key-1");
+
+        assertEquals(first, retried);
+        Mockito.verify(bookingRepository, Mockito.times(1)).findById(1L);
+        Mockito.verify(bookingRepository, Mockito.times(1)).updateStatus(1L, Status.WAITING, Status.APPROVED);
+    }
+
     @Test
     void confirmBookingByWrongOwnerShouldThrow() {
         Mockito
                 .when(bookingRepository.findById(1L))
                 .thenReturn(Optional.ofNullable(booking));
         Mockito
-                .when(bookingRepository.save(booking))
+                .when(bookingRepository.saveAndFlush(booking))
                 .thenReturn(booking);
 
         assertThrows(WrongOwnerException.class, () -> bookingService.confirmBooking(1L, 1L, true));
@@ -17,7 +17,9 @@ import ru.practicum.shareit.item.dto.ItemOwnerDto;
 import ru.practicum.shareit.item.exceptions.CommentWithoutCompletedBooking;
 import ru.practicum.shareit.item.exceptions.WrongOwnerException;
 import ru.practicum.shareit.item.services.ItemService;
+import ru.practicum.shareit.pagination.PageCursor;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -25,6 +27,7 @@ import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -75,6 +78,21 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.name", is("Test Item")));
     }
 
+    @Test
+    public void testFindByIdWithoutUserShouldNameOwner() throws Exception {
+        ItemOwnerDto expectedResult = new ItemOwnerDto();
+        expectedResult.setId(1L);
+        expectedResult.setOwnerId(7L);
+
+        when(itemService.findById(1L, null)).thenReturn(expectedResult);
+
+        mockMvc.perform(get("/items/{itemId}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ItemController.ITEM_OWNER_HEADER, "7"))
+                .andExpect(jsonPath("$.id", is(1)))
+                .andExpect(jsonPath("$.ownerId").doesNotExist());
+    }
+
     @Test
     public void testUpdateItem() throws Exception {
         ItemDto itemDto = new ItemDto();
@@ -133,6 +151,16 @@ class ItemControllerTest {
         verify(itemService).findAllMyItems(1L, PageRequest.of(0, 10));
     }
 
+    @Test
+    public void testGetAllUsersItemsShouldRejectBookingCursor() throws Exception {
+        mockMvc.perform(get("/items")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("after", PageCursor.of(LocalDateTime.of(2000, 1, 1, 1, 1), 1L).encode()))
+                .andExpect(status().isBadRequest());
+
+        verify(itemService, never()).findAllMyItems(anyLong(), any(PageCursor.class), anyInt());
+    }
+
     @Test
     public void testFindByNameOrDescription() throws Exception {
         List<ItemDto> expectedResult = new ArrayList<>();
@@ -160,6 +188,24 @@ class ItemControllerTest {
         verify(itemService).findByNameOrDescription("keyword", PageRequest.of(0, 10));
     }
 
+    @Test
+    public void testFindComments() throws Exception {
+        CommentDto comment = new CommentDto();
+        comment.setId(3L);
+        comment.setText("Older comment");
+
+        when(itemService.findComments(anyLong(), any(Pageable.class))).thenReturn(List.of(comment));
+
+        mockMvc.perform(get("/items/1/comments")
+                        .param("from", "10")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(3)))
+                .andExpect(jsonPath("$[0].text", is("Older comment")));
+
+        verify(itemService).findComments(1L, PageRequest.of(1, 10));
+    }
+
     @Test
     public void testSaveComment() throws Exception {
         CommentDto commentDto = new CommentDto();
@@ -9,12 +9,15 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.services.DatabaseItemSearchEngine;
+import ru.practicum.shareit.item.services.ItemSearchEngine;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserJpaRepository;
 
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DataJpaTest
 @Transactional
@@ -108,4 +111,56 @@ class ItemJpaRepositoryTest {
         assertEquals("Item 3", items.get(1).getName());
         assertEquals(3L, items.get(1).getId());
     }
-}
\ No newline at end of file
+
+    @Test
+    void searchAvailableShouldRankNameMatchesFirst() {
+        userJpaRepository.save(user1);
+        Item drill = new Item();
+        drill.setName("Cordless tool");
+        drill.setDescription("Drill with two batteries");
+        drill.setAvailable(true);
+        drill.setOwnerId(1L);
+        Item hammerDrill = new Item();
+        hammerDrill.setName("Hammer DRILL");
+        hammerDrill.setDescription("Heavy");
+        hammerDrill.setAvailable(true);
+        hammerDrill.setOwnerId(1L);
+        Item brokenDrill = new Item();
+        brokenDrill.setName("Broken drill");
+        brokenDrill.setDescription("Not available");
+        brokenDrill.setAvailable(false);
+        brokenDrill.setOwnerId(1L);
+        itemJpaRepository.save(drill);
+        itemJpaRepository.save(hammerDrill);
+        itemJpaRepository.save(brokenDrill);
+
+        List<Item> items = itemJpaRepository.searchAvailable("drill", Pageable.unpaged());
+
+        assertEquals(2, items.size());
+        assertEquals("Hammer DRILL", items.get(0).getName());
+        assertEquals("Cordless tool", items.get(1).getName());
+    }
+
+    @Test
+    void searchShouldMatchWildcardsLiterally() {
+        userJpaRepository.save(user1);
+        Item discount = new Item();
+        discount.setName("Drill 50% off");
+        discount.setDescription("Cordless");
+        discount.setAvailable(true);
+        discount.setOwnerId(1L);
+        Item plain = new Item();
+        plain.setName("Drill 500");
+        plain.setDescription("Corded_drill");
+        plain.setAvailable(true);
+        plain.setOwnerId(1L);
+        itemJpaRepository.save(discount);
+        itemJpaRepository.save(plain);
+        ItemSearchEngine searchEngine = new DatabaseItemSearchEngine(itemJpaRepository);
+
+        assertEquals(1, searchEngine.search("%", Pageable.unpaged()).size());
+        assertEquals("Drill 50% off", searchEngine.search("50%", Pageable.unpaged()).get(0).getName());
+        assertTrue(searchEngine.search("r_l", Pageable.unpaged()).isEmpty());
+        assertEquals("Drill 500", searchEngine.search("d_d", Pageable.unpaged()).get(0).getName());
+    }
+}
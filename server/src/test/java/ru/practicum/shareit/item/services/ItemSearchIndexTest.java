@@ -0,0 +1,114 @@
+package ru.practicum.shareit.item.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.practicum.shareit.item.repository.ItemJpaRepository;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ItemSearchIndexTest {
+    ItemJpaRepository itemRepository;
+    ItemSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        itemRepository = Mockito.mock(ItemJpaRepository.class);
+        index = new ItemSearchIndex(itemRepository, Mockito.mock(PlatformTransactionManager.class),
+                Mockito.mock(EntityManager.class));
+        index.rebuild(Stream.of(
+                item(1L, "Cordless tool", "Drill with two batteries", true),
+                item(2L, "Hammer drill", "Heavy", true),
+                item(3L, "Broken drill", "Not available", false),
+                item(4L, "Drill", "Small", true),
+                item(5L, "Ladder", "Aluminium", true)));
+    }
+
+    @Test
+    void searchShouldRankNameMatchesFirstAndSkipUnavailable() {
+        List<Long> ids = ids(index.search("DRILL", Pageable.unpaged()));
+
+        assertEquals(List.of(4L, 2L, 1L), ids);
+    }
+
+    @Test
+    void searchShouldMatchSubstrings() {
+        assertEquals(List.of(1L), ids(index.search("atter", Pageable.unpaged())));
+        assertEquals(List.of(5L), ids(index.search("ad", Pageable.unpaged())));
+        assertTrue(index.search("saw", Pageable.unpaged()).isEmpty());
+    }
+
+    @Test
+    void searchShouldPaginate() {
+        assertEquals(List.of(2L), ids(index.search("drill", PageRequest.of(1, 1))));
+        assertTrue(index.search("drill", PageRequest.of(3, 1)).isEmpty());
+    }
+
+    @Test
+    void onItemSavedShouldReplaceIndexedVersion() {
+        index.onItemSaved(item(5L, "Step ladder", "Folding drill stand", true));
+        index.onItemSaved(item(2L, "Hammer", "Heavy", false));
+        index.onItemSaved(item(6L, "Drill bits", "Set", true));
+
+        assertEquals(List.of(4L, 6L, 1L, 5L), ids(index.search("drill", Pageable.unpaged())));
+        assertTrue(index.search("aluminium", Pageable.unpaged()).isEmpty());
+    }
+
+    @Test
+    void searchShouldNotTouchRepository() {
+        index.search("drill", Pageable.unpaged());
+
+        Mockito.verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    void concurrentSearchesAndUpdatesShouldKeepIndexConsistent() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < 8; thread++) {
+            long offset = thread * 1000L;
+            futures.add(executor.submit(() -> {
+                for (long id = 100; id < 300; id++) {
+                    index.onItemSaved(item(offset + id, "Drill " + id, "Concurrent", true));
+                    assertFalse(index.search("drill", PageRequest.of(0, 5)).isEmpty());
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(1600, index.search("concurrent", Pageable.unpaged()).size());
+    }
+
+    private static Item item(Long id, String name, String description, boolean available) {
+        Item item = new Item();
+        item.setId(id);
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(available);
+        item.setOwnerId(1L);
+        return item;
+    }
+
+    private static List<Long> ids(List<Item> items) {
+        return items.stream().map(Item::getId).collect(Collectors.toList());
+    }
+}
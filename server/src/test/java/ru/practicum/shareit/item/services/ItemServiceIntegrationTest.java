@@ -9,14 +9,19 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.services.BookingService;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemOwnerDto;
 import ru.practicum.shareit.item.exceptions.CommentWithoutCompletedBooking;
+import ru.practicum.shareit.item.model.ItemSummary;
 import ru.practicum.shareit.item.repository.ItemJpaRepository;
+import ru.practicum.shareit.item.repository.ItemSummaryJpaRepository;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.exceptions.EntityNotFoundException;
 import ru.practicum.shareit.user.exceptions.NotUniqueUserEmail;
@@ -46,6 +51,12 @@ class ItemServiceIntegrationTest {
     UserJpaRepository userRepository;
     @Autowired
     BookingRepository bookingRepository;
+    @Autowired
+    BookingService bookingService;
+    @Autowired
+    ItemSummaryService itemSummaryService;
+    @Autowired
+    ItemSummaryJpaRepository itemSummaryRepository;
 
     @Test
     void findAllMyItemsNoPagination() throws EntityNotFoundException {
@@ -91,6 +102,16 @@ class ItemServiceIntegrationTest {
                 itemList.get(0).getLastBooking().getStart());
     }
 
+    @Test
+    void findAllMyItemsByCursor() throws EntityNotFoundException {
+        List<ItemOwnerDto> itemList = itemService.findAllMyItems(1L, PageCursor.of(1L), 1);
+
+        assertEquals(1, itemList.size());
+        assertEquals(2L, itemList.get(0).getId());
+        assertEquals(LocalDateTime.of(2035, 1, 1, 1, 1, 1, 1),
+                itemList.get(0).getNextBooking().getStart());
+    }
+
     @Test
     void findByNameOrDescriptionNoPaginationNotLowerCase() {
         List<ItemDto> itemList = itemService.findByNameOrDescription("Description", Pageable.unpaged());
@@ -119,6 +140,118 @@ class ItemServiceIntegrationTest {
         assertTrue(itemsId.contains(2L));
     }
 
+    @Test
+    void findByIdShouldFollowSavedAndConfirmedBookings() throws Exception {
+        BookingDto bookingDto = new BookingDto();
+        bookingDto.setItemId(3L);
+        bookingDto.setStart(LocalDateTime.now().plusDays(1));
+        bookingDto.setEnd(LocalDateTime.now().plusDays(2));
+        Long bookingId = bookingService.save(3L, bookingDto).getId();
+
+        assertEquals(bookingId, itemService.findById(3L, 1L).getNextBooking().getId());
+        assertNull(itemService.findById(3L, 2L).getNextBooking());
+
+        bookingService.confirmBooking(1L, bookingId, false);
+
+        assertNull(itemService.findById(3L, 1L).getNextBooking());
+    }
+
+    @Test
+    void findByIdShouldServeCommentsFromSummary() throws EntityNotFoundException {
+        ItemOwnerDto item = itemService.findById(1L, 2L);
+
+        assertEquals(1, item.getComments().size());
+        assertEquals("First Comment", item.getComments().iterator().next().getText());
+        assertEquals(1, itemSummaryRepository.findById(1L).orElseThrow().getCommentCount());
+    }
+
+    @Test
+    void summaryShouldHoldLatestCommentsOfAnyLength() throws Exception {
+        // each control character is escaped to six characters in the stored JSON
+        String text = "\u0001".repeat(255);
+        for (int i = 0; i < ItemSummaryService.LATEST_COMMENTS - 1; i++) {
+            CommentDto commentDto = new CommentDto();
+            commentDto.setText(text);
+            itemService.saveComment(2L, 1L, commentDto);
+        }
+        itemSummaryService.refresh(1L);
+
+        ItemOwnerDto item = itemService.findById(1L, 2L);
+        assertEquals(ItemSummaryService.LATEST_COMMENTS, item.getComments().size());
+        assertEquals(text, item.getComments().stream().reduce((first, second) -> second).orElseThrow().getText());
+        assertTrue(itemSummaryRepository.findById(1L).orElseThrow().getLatestComments().length() > 10_000);
+    }
+
+    @Test
+    void findByIdShouldCarryLatestCommentsAndPageTheRest() throws Exception {
+        for (int i = 0; i < ItemSummaryService.LATEST_COMMENTS; i++) {
+            CommentDto commentDto = new CommentDto();
+            commentDto.setText("Comment " + i);
+            itemService.saveComment(2L, 1L, commentDto);
+        }
+
+        ItemOwnerDto item = itemService.findById(1L, 2L);
+        List<CommentDto> oldest = itemService.findComments(1L, PageRequest.of(0, 2));
+
+        assertEquals(ItemSummaryService.LATEST_COMMENTS, item.getComments().size());
+        assertEquals(ItemSummaryService.LATEST_COMMENTS + 1, item.getCommentCount());
+        assertEquals("Comment 0", item.getComments().iterator().next().getText());
+        assertEquals(List.of("First Comment", "Comment 0"),
+                oldest.stream().map(CommentDto::getText).collect(Collectors.toList()));
+        assertEquals("Second User", oldest.get(0).getAuthorName());
+        assertThrows(EntityNotFoundException.class, () -> itemService.findComments(99L, PageRequest.of(0, 2)));
+    }
+
+    @Test
+    void staleSummaryShouldBeServedUntilRefreshed() throws EntityNotFoundException {
+        ItemSummary summary = itemSummaryRepository.findById(2L).orElseThrow();
+        summary.setValidUntil(LocalDateTime.now().minusMinutes(1));
+        itemSummaryRepository.saveAndFlush(summary);
+
+        assertNull(itemService.findById(2L, 1L).getLastBooking());
+
+        itemSummaryService.refreshStale(100);
+
+        assertEquals(LocalDateTime.of(2022, 1, 1, 1, 1, 1, 1), itemService.findById(2L, 1L).getLastBooking().getStart());
+    }
+
+    @Test
+    void refreshStaleShouldRecomputeExpiredSummaries() throws EntityNotFoundException {
+        ItemSummary summary = itemSummaryRepository.findById(2L).orElseThrow();
+        assertNull(summary.getLastBooking());
+        summary.setValidUntil(LocalDateTime.now().minusMinutes(1));
+        itemSummaryRepository.saveAndFlush(summary);
+
+        assertTrue(itemSummaryService.refreshStale(100) >= 1);
+
+        ItemOwnerDto item = itemService.findById(2L, 1L);
+        assertEquals(LocalDateTime.of(2022, 1, 1, 1, 1, 1, 1), item.getLastBooking().getStart());
+        assertEquals(LocalDateTime.of(2035, 1, 1, 1, 1, 1, 1), item.getNextBooking().getStart());
+    }
+
+    @Test
+    void saveCommentShouldRequireCompletedBookingOfSameItem() {
+        CommentDto commentDto = new CommentDto();
+        commentDto.setText("Wrong Item Comment");
+
+        assertThrows(CommentWithoutCompletedBooking.class, () -> itemService.saveComment(2L, 2L, commentDto));
+    }
+
+    @Test
+    void saveCommentShouldRequireApprovedBooking() {
+        Booking rejected = new Booking();
+        rejected.setStart(LocalDateTime.of(2010, 1, 1, 1, 1, 1, 1));
+        rejected.setEnd(LocalDateTime.of(2011, 1, 1, 1, 1, 1, 1));
+        rejected.setStatus(Status.REJECTED);
+        rejected.setItem(itemRepository.findById(3L).orElseThrow());
+        rejected.setBooker(userRepository.findById(3L).orElseThrow());
+        bookingRepository.save(rejected);
+        CommentDto commentDto = new CommentDto();
+        commentDto.setText("Rejected Booking Comment");
+
+        assertThrows(CommentWithoutCompletedBooking.class, () -> itemService.saveComment(3L, 3L, commentDto));
+    }
+
     @BeforeEach
     void setUp() throws NotUniqueUserEmail, EntityNotFoundException, CommentWithoutCompletedBooking {
         UserDto user1 = new UserDto();
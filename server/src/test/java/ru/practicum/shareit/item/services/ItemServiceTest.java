@@ -8,6 +8,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
 import ru.practicum.shareit.booking.dto.BookingMapperForItems;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
@@ -15,8 +16,10 @@ import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.exceptions.CommentWithoutCompletedBooking;
 import ru.practicum.shareit.item.exceptions.WrongOwnerException;
+import ru.practicum.shareit.item.model.BookingSnapshot;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemSummary;
 import ru.practicum.shareit.item.repository.CommentJpaRepository;
 import ru.practicum.shareit.item.repository.ItemJpaRepository;
 import ru.practicum.shareit.user.exceptions.EntityNotFoundException;
@@ -46,6 +49,12 @@ class ItemServiceTest {
     BookingRepository bookingRepository;
     @Mock
     CommentJpaRepository commentRepository;
+    @Mock
+    ItemSearchEngine itemSearchEngine;
+    @Mock
+    ItemSummaryService itemSummaryService;
+    @Mock
+    PlatformTransactionManager transactionManager;
     @Autowired
     ItemMapper itemMapper;
     @Autowired
@@ -61,7 +70,8 @@ class ItemServiceTest {
     @BeforeEach
     void inject() {
         itemService = new ItemServiceImpl(userService, itemRepository, userRepository, bookingRepository, commentRepository,
-                itemMapper, itemOwnerMapper, bookingMapperForItems, commentMapper);
+                itemMapper, itemOwnerMapper, bookingMapperForItems, commentMapper, itemSearchEngine, itemSummaryService,
+                transactionManager);
 
         itemDto = new ItemDto();
         itemDto.setName("Knife");
@@ -84,7 +94,7 @@ class ItemServiceTest {
     @Test
     void saveShouldCallRepositorySaveOneTime() throws EntityNotFoundException {
         Mockito
-                .when(itemRepository.save(any(Item.class)))
+                .when(itemRepository.saveAndFlush(any(Item.class)))
                 .thenReturn(item);
         Mockito
                 .when(userRepository.existsById(1L))
@@ -92,7 +102,8 @@ class ItemServiceTest {
 
         itemService.save(1L, itemDto);
 
-        Mockito.verify(itemRepository, Mockito.times(1)).save(any(Item.class));
+        Mockito.verify(itemRepository, Mockito.times(1)).saveAndFlush(any(Item.class));
+        Mockito.verify(itemSummaryService, Mockito.times(1)).create(any());
     }
 
     @Test
@@ -291,16 +302,19 @@ class ItemServiceTest {
 
     @Test
     void findByIdRequestFromNotOwner() throws EntityNotFoundException {
-        Comment comment = new Comment();
+        CommentDto comment = new CommentDto();
         comment.setId(1L);
-        comment.setAuthor(user);
+        comment.setAuthorName(user.getName());
         comment.setText("Amazing");
-        Collection<Comment> comments = new ArrayList<>();
-        comments.add(comment);
+        ItemSummary summary = new ItemSummary();
+        summary.setLastBooking(snapshot(1L, LocalDateTime.of(2020, 1, 1, 1, 1, 1), Status.APPROVED));
 
         Mockito
-                .when(commentRepository.findAllByItemIdOrderByIdAsc(1L))
-                .thenReturn(comments);
+                .when(itemSummaryService.findById(1L))
+                .thenReturn(summary);
+        Mockito
+                .when(itemSummaryService.comments(summary))
+                .thenReturn(List.of(comment));
         Mockito
                 .when(itemRepository.findById(1L))
                 .thenReturn(Optional.ofNullable(item));
@@ -314,42 +328,18 @@ class ItemServiceTest {
 
     @Test
     void findByIdRequestFromOwner() throws EntityNotFoundException {
-        Collection<Comment> comments = new ArrayList<>();
-
-        Booking booking1 = new Booking();
-        booking1.setStart(LocalDateTime.of(2000, 1, 1, 1, 1, 1));
-        booking1.setId(1L);
-        booking1.setStatus(Status.APPROVED);
-
-        Booking booking2 = new Booking();
         LocalDateTime expectedLast = LocalDateTime.of(2020, 1, 1, 1, 1, 1);
-        booking2.setStart(expectedLast);
-        booking2.setId(2L);
-        booking2.setStatus(Status.APPROVED);
-
-        Booking booking3 = new Booking();
         LocalDateTime expectedNext = LocalDateTime.of(3000, 1, 1, 1, 1, 1);
-        booking3.setStart(expectedNext);
-        booking3.setId(3L);
-        booking3.setStatus(Status.WAITING);
-
-        Booking booking4 = new Booking();
-        booking4.setStart(LocalDateTime.of(2024, 1, 1, 1, 1, 1));
-        booking4.setId(4L);
-        booking4.setStatus(Status.REJECTED);
-
-        Collection<Booking> bookings = new ArrayList<>();
-        bookings.add(booking1);
-        bookings.add(booking2);
-        bookings.add(booking3);
-        bookings.add(booking4);
+        ItemSummary summary = new ItemSummary();
+        summary.setLastBooking(snapshot(2L, expectedLast, Status.APPROVED));
+        summary.setNextBooking(snapshot(3L, expectedNext, Status.WAITING));
 
         Mockito
-                .when(bookingRepository.findAllByItemIdOrderByStartDesc(1L))
-                .thenReturn(bookings);
+                .when(itemSummaryService.findById(1L))
+                .thenReturn(summary);
         Mockito
-                .when(commentRepository.findAllByItemIdOrderByIdAsc(1L))
-                .thenReturn(comments);
+                .when(itemSummaryService.comments(summary))
+                .thenReturn(List.of());
         Mockito
                 .when(itemRepository.findById(1L))
                 .thenReturn(Optional.ofNullable(item));
@@ -361,6 +351,56 @@ class ItemServiceTest {
         assertEquals(expectedNext, foundedItem.getNextBooking().getStart());
     }
 
+    @Test
+    void findAllMyItemsShouldLoadBookingsAndCommentsOnlyForPageItems() throws EntityNotFoundException {
+        Booking lastBooking = new Booking();
+        lastBooking.setId(1L);
+        lastBooking.setStart(LocalDateTime.of(2000, 1, 1, 1, 1, 1));
+        lastBooking.setStatus(Status.APPROVED);
+        lastBooking.setItem(item);
+        lastBooking.setBooker(user);
+
+        Comment comment = new Comment();
+        comment.setId(1L);
+        comment.setText("Amazing");
+        comment.setItem(item);
+        comment.setAuthor(user);
+        Collection<Comment> comments = new ArrayList<>();
+        comments.add(comment);
+
+        Mockito
+                .when(userRepository.existsById(2L))
+                .thenReturn(true);
+        Mockito
+                .when(itemRepository.findByOwnerIdOrderByIdAsc(2L, PageRequest.of(0, 10)))
+                .thenReturn(List.of(item));
+        Mockito
+                .when(bookingRepository.findLastBookingsOfItems(Mockito.eq(List.of(1L)), any(LocalDateTime.class)))
+                .thenReturn(List.of(lastBooking));
+        Mockito
+                .when(commentRepository.findAllByItemIdInOrderByIdAsc(List.of(1L)))
+                .thenReturn(comments);
+
+        List<ItemOwnerDto> items = itemService.findAllMyItems(2L, PageRequest.of(0, 10));
+
+        assertEquals(1, items.size());
+        assertEquals(1L, items.get(0).getLastBooking().getId());
+        assertNull(items.get(0).getNextBooking());
+        assertEquals(1, items.get(0).getComments().size());
+        Mockito.verify(bookingRepository, Mockito.times(1)).findNextBookingsOfItems(Mockito.eq(List.of(1L)),
+                any(LocalDateTime.class), Mockito.eq(Status.REJECTED));
+    }
+
+    @Test
+    void findAllMyItemsWithoutItemsShouldNotQueryBookings() throws EntityNotFoundException {
+        Mockito
+                .when(userRepository.existsById(2L))
+                .thenReturn(true);
+
+        assertEquals(0, itemService.findAllMyItems(2L, PageRequest.of(5, 10)).size());
+        Mockito.verifyNoInteractions(bookingRepository, commentRepository);
+    }
+
     @Test
     void findByNameOrDescriptionEmptyString() {
         assertEquals(0, itemService.findByNameOrDescription("", PageRequest.of(1, 1)).size());
@@ -375,8 +415,7 @@ class ItemServiceTest {
         items.add(item);
 
         Mockito
-                .when(itemRepository.findByNameOrDescriptionContainsIgnoreCaseAndAvailable(Mockito.anyString(),
-                        Mockito.anyString(), Mockito.anyBoolean(), Mockito.any(Pageable.class)))
+                .when(itemSearchEngine.search(Mockito.anyString(), Mockito.any(Pageable.class)))
                 .thenReturn(items);
 
         assertEquals(2, itemService.findByNameOrDescription("text", Pageable.unpaged()).size());
@@ -390,8 +429,7 @@ class ItemServiceTest {
         items.add(item);
 
         Mockito
-                .when(itemRepository.findByNameOrDescriptionContainsIgnoreCaseAndAvailable(Mockito.anyString(),
-                        Mockito.anyString(), Mockito.anyBoolean(), any(Pageable.class)))
+                .when(itemSearchEngine.search(Mockito.anyString(), any(Pageable.class)))
                 .thenReturn(items);
 
         assertEquals(1, itemService.findByNameOrDescription("text", Pageable.unpaged()).size());
@@ -404,17 +442,10 @@ class ItemServiceTest {
         comment.setId(1L);
         comment.setText("Amazing");
 
-        Booking booking1 = new Booking();
-        booking1.setStart(LocalDateTime.of(2000, 1, 1, 1, 1, 1));
-        booking1.setId(1L);
-        booking1.setBooker(user);
-        booking1.setStatus(Status.APPROVED);
-        Collection<Booking> bookings = new ArrayList<>();
-        bookings.add(booking1);
-
         Mockito
-                .when(bookingRepository.findAllByBookerIdAndEndBeforeOrderByStartDesc(Mockito.anyLong(), any(LocalDateTime.class)))
-                .thenReturn(bookings);
+                .when(bookingRepository.existsByBookerIdAndItemIdAndStatusAndEndBefore(Mockito.eq(5L), Mockito.eq(1L),
+                        Mockito.eq(Status.APPROVED), any(LocalDateTime.class)))
+                .thenReturn(false);
         Mockito
                 .when(userRepository.findById(5L))
                 .thenReturn(Optional.ofNullable(user));
@@ -435,17 +466,10 @@ class ItemServiceTest {
         comment.setId(1L);
         comment.setText("Amazing");
 
-        Booking booking1 = new Booking();
-        booking1.setStart(LocalDateTime.of(2000, 1, 1, 1, 1, 1));
-        booking1.setId(1L);
-        booking1.setBooker(user);
-        booking1.setStatus(Status.APPROVED);
-        Collection<Booking> bookings = new ArrayList<>();
-        bookings.add(booking1);
-
         Mockito
-                .when(bookingRepository.findAllByBookerIdAndEndBeforeOrderByStartDesc(Mockito.anyLong(), any(LocalDateTime.class)))
-                .thenReturn(bookings);
+                .when(bookingRepository.existsByBookerIdAndItemIdAndStatusAndEndBefore(Mockito.eq(1L), Mockito.eq(1L),
+                        Mockito.eq(Status.APPROVED), any(LocalDateTime.class)))
+                .thenReturn(true);
         Mockito
                 .when(userRepository.findById(1L))
                 .thenReturn(Optional.ofNullable(user));
@@ -454,11 +478,12 @@ class ItemServiceTest {
                 .when(itemRepository.findById(1L))
                 .thenReturn(Optional.ofNullable(item));
         Mockito
-                .when(commentRepository.save(any(Comment.class)))
+                .when(commentRepository.saveAndFlush(any(Comment.class)))
                 .thenReturn(comment);
 
         CommentDto savedComment = itemService.saveComment(1L, 1L, commentDto);
 
+        Mockito.verify(itemSummaryService, Mockito.times(1)).refresh(1L);
         assertNotNull(savedComment.getCreated());
         assertEquals("TestUser", savedComment.getAuthorName());
         commentMapper.modelToDto(null);
@@ -468,4 +493,14 @@ class ItemServiceTest {
         itemOwnerMapper.dtoToModel(null);
         itemOwnerMapper.modelToDto(null);
     }
-}
\ No newline at end of file
+
+    private BookingSnapshot snapshot(Long id, LocalDateTime start, Status status) {
+        BookingSnapshot snapshot = new BookingSnapshot();
+        snapshot.setId(id);
+        snapshot.setStart(start);
+        snapshot.setEnd(start.plusDays(1));
+        snapshot.setBookerId(user.getId());
+        snapshot.setStatus(status);
+        return snapshot;
+    }
+}
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.observability;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "shareit.item-summary.refresher.enabled=false")
+@AutoConfigureMockMvc
+class ObservabilityTest {
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Test
+    void traceIdShouldBeEchoed() throws Exception {
+        mockMvc.perform(get("/users").header(TraceIdFilter.TRACE_ID_HEADER, "abc-123"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(TraceIdFilter.TRACE_ID_HEADER, "abc-123"));
+    }
+
+    @Test
+    void malformedTraceIdShouldBeReplaced() throws Exception {
+        String traceId = mockMvc.perform(get("/users").header(TraceIdFilter.TRACE_ID_HEADER, "bad\nid"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(TraceIdFilter.TRACE_ID_HEADER);
+
+        assertTrue(traceId.matches("[0-9a-f]{32}"));
+    }
+
+    @Test
+    void statementsShouldBeRecordedPerEndpoint() throws Exception {
+        mockMvc.perform(get("/users/{id}", 1L)).andExpect(status().isNotFound());
+
+        DistributionSummary statements = meterRegistry.get(RequestLogFilter.STATEMENTS_METRIC)
+                .tag("method", "GET")
+                .tag("uri", "/users/{id}")
+                .summary();
+        assertEquals(1, statements.count());
+        assertTrue(statements.totalAmount() >= 1);
+    }
+}
@@ -81,7 +81,7 @@ class ItemRequestControllerTest {
         responseDto2.setDescription("Test Request 2");
         List<ItemRequestDto> responseList = Arrays.asList(responseDto1, responseDto2);
 
-        when(itemRequestService.findMyItemRequests(anyLong())).thenReturn(responseList);
+        when(itemRequestService.findMyItemRequests(anyLong(), any(Pageable.class))).thenReturn(responseList);
 
         mockMvc.perform(get("/requests")
                         .header("X-Sharer-User-Id", 1L))
@@ -92,7 +92,20 @@ class ItemRequestControllerTest {
                 .andExpect(jsonPath("$[1].id", is(2)))
                 .andExpect(jsonPath("$[1].description", is("Test Request 2")));
 
-        verify(itemRequestService).findMyItemRequests(1L);
+        verify(itemRequestService).findMyItemRequests(1L, Pageable.unpaged());
+    }
+
+    @Test
+    public void testFindMyItemRequestsPage() throws Exception {
+        when(itemRequestService.findMyItemRequests(anyLong(), any(Pageable.class))).thenReturn(List.of());
+
+        mockMvc.perform(get("/requests")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("from", "20")
+                        .param("size", "10"))
+                .andExpect(status().isOk());
+
+        verify(itemRequestService).findMyItemRequests(1L, PageRequest.of(2, 10));
     }
 
     @Test
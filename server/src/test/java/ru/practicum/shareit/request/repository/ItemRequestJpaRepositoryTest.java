@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.item.repository.ItemJpaRepository;
@@ -45,7 +46,7 @@ class ItemRequestJpaRepositoryTest {
         itemRequestJpaRepository.save(itemRequest2);
         itemRequestJpaRepository.save(itemRequest3);
 
-        List<ItemRequest> requests = new ArrayList<>(itemRequestJpaRepository.findByAuthorIdOrderByCreatedDesc(2L));
+        List<ItemRequest> requests = new ArrayList<>(itemRequestJpaRepository.findByAuthorIdOrderByCreatedDesc(2L, Pageable.unpaged()));
 
         assertEquals(1, requests.size());
         assertEquals(3L, requests.get(0).getId());
@@ -63,7 +64,7 @@ class ItemRequestJpaRepositoryTest {
         itemRequestJpaRepository.save(itemRequest2);
         itemRequestJpaRepository.save(itemRequest3);
 
-        List<ItemRequest> requests = new ArrayList<>(itemRequestJpaRepository.findByAuthorIdOrderByCreatedDesc(1L));
+        List<ItemRequest> requests = new ArrayList<>(itemRequestJpaRepository.findByAuthorIdOrderByCreatedDesc(1L, Pageable.unpaged()));
 
         assertEquals(2, requests.size());
         assertEquals(2L, requests.get(0).getId());
@@ -53,7 +53,7 @@ class ItemRequestServiceIntegrationTest {
 
     @Test
     void findMyItemRequestsShouldThrow() {
-        assertThrows(EntityNotFoundException.class, () -> itemRequestService.findMyItemRequests(99L));
+        assertThrows(EntityNotFoundException.class, () -> itemRequestService.findMyItemRequests(99L, Pageable.unpaged()));
     }
 
     @Test
@@ -64,7 +64,7 @@ class ItemRequestServiceIntegrationTest {
 
     @Test
     void findMyItemRequest() throws EntityNotFoundException {
-        List<ItemRequestDto> requests = new ArrayList<>(itemRequestService.findMyItemRequests(2L));
+        List<ItemRequestDto> requests = new ArrayList<>(itemRequestService.findMyItemRequests(2L, PageRequest.of(0, 10)));
         List<Long> requestsId = requests.stream().map(ItemRequestDto::getId).collect(Collectors.toList());
 
         assertEquals(1, requests.size());
@@ -78,6 +78,19 @@ class ItemRequestServiceIntegrationTest {
         assertEquals(1, requests.get(0).getItems().size());
     }
 
+    @Test
+    void findMyItemRequestPagination() throws EntityNotFoundException {
+        List<ItemRequestDto> requests = new ArrayList<>(itemRequestService.findMyItemRequests(3L,
+                PageRequest.of(1, 1)));
+
+        assertEquals(1, requests.size());
+        assertEquals(2L, requests.get(0).getId());
+        assertEquals("Сталин 3000", requests.get(0).getDescription());
+        assertEquals(List.of(3L, 4L), requests.get(0).getItems().stream()
+                .map(ItemDto::getId)
+                .collect(Collectors.toList()));
+    }
+
     @Test
     void findTheirItemRequestNoPagination() throws EntityNotFoundException {
         List<ItemRequestDto> requests = new ArrayList<>(itemRequestService.findTheirItemRequest(3L, Pageable.unpaged()));
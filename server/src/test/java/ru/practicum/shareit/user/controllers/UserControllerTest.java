@@ -9,6 +9,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.exceptions.EntityNotFoundException;
 import ru.practicum.shareit.user.exceptions.NotUniqueUserEmail;
@@ -16,13 +17,13 @@ import ru.practicum.shareit.user.services.UserService;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @AutoConfigureMockMvc
 @WebMvcTest(controllers = UserController.class)
@@ -146,10 +147,11 @@ class UserControllerTest {
 
         List<UserDto> userDtoList = Arrays.asList(userDto1, userDto2);
 
-        when(userService.findAll()).thenReturn(userDtoList);
+        when(userService.findAll(any(PageCursor.class), eq(2))).thenReturn(userDtoList);
 
-        mockMvc.perform(get("/users"))
+        mockMvc.perform(get("/users").param("size", "2"))
                 .andExpect(status().isOk())
+                .andExpect(header().string(PageCursor.NEXT_CURSOR_HEADER, PageCursor.of(2L).encode()))
                 .andExpect(jsonPath("$[0].id", is(1)))
                 .andExpect(jsonPath("$[0].email", is("test1@example.com")))
                 .andExpect(jsonPath("$[0].name", is("Test User 1")))
@@ -157,7 +159,68 @@ class UserControllerTest {
                 .andExpect(jsonPath("$[1].email", is("test2@example.com")))
                 .andExpect(jsonPath("$[1].name", is("Test User 2")));
 
-        verify(userService, times(1)).findAll();
+        verify(userService, times(1)).findAll(argThat(cursor -> cursor.getId() == 0L), eq(2));
+    }
+
+    @Test
+    public void testFindAllWithoutPageShouldReturnEveryUser() throws Exception {
+        UserDto userDto = new UserDto();
+        userDto.setId(1L);
+
+        when(userService.findAll()).thenReturn(List.of(userDto));
+
+        mockMvc.perform(get("/users"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(PageCursor.NEXT_CURSOR_HEADER))
+                .andExpect(jsonPath("$[0].id", is(1)));
+
+        verify(userService, never()).findAll(any(PageCursor.class), anyInt());
+    }
+
+    @Test
+    public void testFindAllAfterCursor() throws Exception {
+        when(userService.findAll(any(PageCursor.class), anyInt())).thenReturn(List.of());
+
+        mockMvc.perform(get("/users").param("after", PageCursor.of(2L).encode()))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(PageCursor.NEXT_CURSOR_HEADER));
+
+        verify(userService, times(1)).findAll(argThat(cursor -> cursor.getId() == 2L), eq(100));
+    }
+
+    @Test
+    public void testFindAllShouldRejectNonPositiveSize() throws Exception {
+        mockMvc.perform(get("/users").param("size", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/users").param("size", "-1"))
+                .andExpect(status().isBadRequest());
+
+        verify(userService, never()).findAll(any(PageCursor.class), anyInt());
+    }
+
+    @Test
+    public void testExport() throws Exception {
+        UserDto userDto1 = new UserDto();
+        userDto1.setId(1L);
+        userDto1.setEmail("test1@example.com");
+        userDto1.setName("Test User 1");
+
+        UserDto userDto2 = new UserDto();
+        userDto2.setId(2L);
+        userDto2.setEmail("test2@example.com");
+        userDto2.setName("Test User 2");
+
+        doAnswer(invocation -> {
+            Consumer<UserDto> consumer = invocation.getArgument(0);
+            consumer.accept(userDto1);
+            consumer.accept(userDto2);
+            return null;
+        }).when(userService).exportAll(any());
+
+        mockMvc.perform(get("/users/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(asJsonString(userDto1) + "\n" + asJsonString(userDto2) + "\n"));
     }
 
     private static String asJsonString(Object obj) throws JsonProcessingException {
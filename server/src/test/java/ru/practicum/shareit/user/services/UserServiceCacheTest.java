@@ -0,0 +1,147 @@
+package ru.practicum.shareit.user.services;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemJpaRepository;
+import ru.practicum.shareit.item.services.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserJpaRepository;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(
+        properties = {"spring.jpa.properties.hibernate.generate_statistics=true",
+                "shareit.item-summary.refresher.enabled=false"},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class UserServiceCacheTest {
+    @Autowired
+    UserService userService;
+    @Autowired
+    ItemService itemService;
+    @Autowired
+    UserJpaRepository userRepository;
+    @Autowired
+    ItemJpaRepository itemRepository;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+    @Autowired
+    MeterRegistry meterRegistry;
+    Statistics statistics;
+    UserDto user;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        UserDto userDto = new UserDto();
+        userDto.setName("Cached User");
+        userDto.setEmail("cached@mail.ru");
+        user = userService.save(userDto);
+    }
+
+    @Test
+    void repeatedLookupsShouldHitDatabaseOnce() throws Exception {
+        statistics.clear();
+        for (int i = 0; i < 5; i++) {
+            assertTrue(userRepository.existsById(user.getId()));
+            assertEquals("Cached User", userService.findById(user.getId()).getName());
+        }
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(4, cacheGets(UserJpaRepository.USERS_CACHE, "hit"));
+        assertEquals(1, cacheGets(UserJpaRepository.USERS_CACHE, "miss"));
+    }
+
+    @Test
+    void missingUserShouldNotBeCached() throws Exception {
+        assertFalse(userRepository.existsById(user.getId() + 1));
+
+        UserDto userDto = new UserDto();
+        userDto.setName("Late User");
+        userDto.setEmail("late@mail.ru");
+        userService.save(userDto);
+
+        assertTrue(userRepository.existsById(user.getId() + 1));
+    }
+
+    @Test
+    void updateShouldEvictCachedUser() throws Exception {
+        userService.findById(user.getId());
+        UserDto update = new UserDto();
+        update.setName("Renamed User");
+        userService.update(update, user.getId());
+
+        assertEquals("Renamed User", userService.findById(user.getId()).getName());
+    }
+
+    @Test
+    void deleteShouldEvictCachedUser() throws Exception {
+        assertTrue(userRepository.existsById(user.getId()));
+        userService.findById(user.getId());
+        userService.deleteById(user.getId());
+
+        assertFalse(userRepository.existsById(user.getId()));
+        assertTrue(userRepository.findById(user.getId()).isEmpty());
+    }
+
+    @Test
+    void itemUpdateShouldEvictCachedItem() throws Exception {
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName("Cached Item");
+        itemDto.setDescription("Cached Description");
+        itemDto.setAvailable(true);
+        Long itemId = itemService.save(user.getId(), itemDto).getId();
+        itemRepository.findById(itemId);
+
+        ItemDto update = new ItemDto();
+        update.setAvailable(false);
+        itemService.update(user.getId(), itemId, update);
+
+        assertFalse(itemRepository.findById(itemId).orElseThrow().getAvailable());
+    }
+
+    @Test
+    void updateShouldNotChangeSharedCachedUser() throws Exception {
+        User cached = userRepository.findById(user.getId()).orElseThrow();
+        UserDto update = new UserDto();
+        update.setName("Renamed User");
+        userService.update(update, user.getId());
+
+        assertEquals("Cached User", cached.getName());
+        assertEquals("Renamed User", userRepository.findById(user.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void itemUpdateShouldNotChangeSharedCachedItem() throws Exception {
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName("Cached Item");
+        itemDto.setDescription("Cached Description");
+        itemDto.setAvailable(true);
+        Long itemId = itemService.save(user.getId(), itemDto).getId();
+        Item cached = itemRepository.findById(itemId).orElseThrow();
+
+        ItemDto update = new ItemDto();
+        update.setAvailable(false);
+        itemService.update(user.getId(), itemId, update);
+
+        assertTrue(cached.getAvailable());
+        assertFalse(itemRepository.findById(itemId).orElseThrow().getAvailable());
+    }
+
+    private double cacheGets(String cache, String result) {
+        return meterRegistry.get("cache.gets").tag("cache", cache).tag("result", result).functionCounter().count();
+    }
+}
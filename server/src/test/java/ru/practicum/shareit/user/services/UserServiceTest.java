@@ -6,6 +6,9 @@ import org.mapstruct.factory.Mappers;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.exceptions.EntityNotFoundException;
@@ -13,8 +16,11 @@ import ru.practicum.shareit.user.exceptions.NotUniqueUserEmail;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserJpaRepository;
 
+import javax.persistence.EntityManager;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -24,6 +30,10 @@ import static org.mockito.ArgumentMatchers.any;
 class UserServiceTest {
     @Mock
     UserJpaRepository userJpaRepository;
+    @Mock
+    PlatformTransactionManager transactionManager;
+    @Mock
+    EntityManager entityManager;
     UserMapper userMapper = Mappers.getMapper(UserMapper.class);
     UserService userService;
     UserDto userDto;
@@ -31,7 +41,7 @@ class UserServiceTest {
 
     @BeforeEach
     void inject() {
-        userService = new UserServiceImpl(userJpaRepository, userMapper);
+        userService = new UserServiceImpl(userJpaRepository, userMapper, transactionManager, entityManager);
         userDto = new UserDto();
         userDto.setEmail("test@mail.ru");
         userDto.setName("TestUser");
@@ -211,13 +221,39 @@ class UserServiceTest {
     @Test
     void findAll() {
         Mockito
-                .when(userJpaRepository.findAll())
+                .when(userJpaRepository.findByIdGreaterThanOrderByIdAsc(5L, PageRequest.of(0, 10)))
                 .thenReturn(new ArrayList<>());
 
         userMapper.modelToDto(null);
         userMapper.dtoToModel(null);
-        userService.findAll();
+        userService.findAll(PageCursor.of(5L), 10);
+
+        Mockito.verify(userJpaRepository, Mockito.times(1)).findByIdGreaterThanOrderByIdAsc(5L, PageRequest.of(0, 10));
+    }
+
+    @Test
+    void findAllWithoutPage() {
+        Mockito
+                .when(userJpaRepository.findAll())
+                .thenReturn(List.of(user));
+
+        List<UserDto> users = userService.findAll();
+
+        assertEquals(1, users.size());
+        Mockito.verify(userJpaRepository, Mockito.never()).findByIdGreaterThanOrderByIdAsc(any(), any());
+    }
+
+    @Test
+    void exportAllShouldStreamDetachedUsers() {
+        Mockito
+                .when(userJpaRepository.streamAllByOrderByIdAsc())
+                .thenReturn(Stream.of(user));
+        List<UserDto> exported = new ArrayList<>();
+
+        userService.exportAll(exported::add);
 
-        Mockito.verify(userJpaRepository, Mockito.times(1)).findAll();
+        assertEquals(1, exported.size());
+        assertEquals("test@mail.ru", exported.get(0).getEmail());
+        Mockito.verify(entityManager, Mockito.times(1)).detach(user);
     }
 }
\ No newline at end of file